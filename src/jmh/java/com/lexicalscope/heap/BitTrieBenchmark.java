@@ -0,0 +1,57 @@
+package com.lexicalscope.heap;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+public class BitTrieBenchmark {
+   @Param({"64", "4096"}) int size;
+
+   private BitTrie trie;
+   private final Object value = new Object();
+
+   @Setup public void fill() {
+      trie = new BitTrie();
+      for (int i = 0; i < size; i++) {
+         trie.insert(value);
+      }
+   }
+
+   @Benchmark public BitTrie insert() {
+      final BitTrie result = new BitTrie();
+      for (int i = 0; i < size; i++) {
+         result.insert(value);
+      }
+      return result;
+   }
+
+   @Benchmark public int get() {
+      int found = 0;
+      for (int i = 1; i < size; i++) {
+         if(trie.get(i) != null) found++;
+      }
+      return found;
+   }
+
+   @Benchmark public BitTrie copy() {
+      return trie.copy();
+   }
+
+   @Benchmark public BitTrie copyThenWrite() {
+      final BitTrie copy = trie.copy();
+      copy.insert(size / 2, value);
+      return copy;
+   }
+}
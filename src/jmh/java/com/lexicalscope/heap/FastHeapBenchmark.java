@@ -0,0 +1,51 @@
+package com.lexicalscope.heap;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import com.lexicalscope.symb.vm.Heap;
+import com.lexicalscope.symb.vm.classloader.Allocatable;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+public class FastHeapBenchmark {
+   private static final Allocatable threeFields = new Allocatable() {
+      @Override public int fieldCount() {
+         return 3;
+      }
+   };
+
+   @Param({"16", "1024"}) int objects;
+
+   private Heap heap;
+   private Object last;
+
+   @Setup public void fill() {
+      heap = new FastHeap();
+      for (int i = 0; i < objects; i++) {
+         last = heap.newObject(threeFields);
+         heap.put(last, 1, i);
+      }
+   }
+
+   @Benchmark public Heap snapshot() {
+      return heap.snapshot();
+   }
+
+   @Benchmark public Heap snapshotThenWrite() {
+      final Heap snapshot = heap.snapshot();
+      snapshot.put(last, 2, objects);
+      return snapshot;
+   }
+}
@@ -0,0 +1,34 @@
+package com.lexicalscope.symb.vm;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import com.lexicalscope.symb.vm.classloader.MethodInfo;
+import com.lexicalscope.symb.vm.concinstructions.ConcInstructionFactory;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+public class StateBenchmark {
+   private com.lexicalscope.symb.vm.State state;
+
+   @Setup public void initialState() {
+      state = Vm.initialState(
+            new ConcInstructionFactory(),
+            new MethodInfo(StaticLinkedList.class, "addRemove", "(I)I"),
+            4);
+   }
+
+   @Benchmark public com.lexicalscope.symb.vm.State snapshot() {
+      return state.snapshot();
+   }
+}
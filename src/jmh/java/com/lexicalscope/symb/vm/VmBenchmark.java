@@ -0,0 +1,60 @@
+package com.lexicalscope.symb.vm;
+
+import static com.lexicalscope.symb.vm.Vm.concreteVm;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import com.lexicalscope.symb.vm.classloader.MethodInfo;
+import com.lexicalscope.symb.vm.symbinstructions.SymbInstructionFactory;
+
+/**
+ * Whole runs, including class loading and linking.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+public class VmBenchmark {
+   private static final MethodInfo hotMethod = new MethodInfo(StaticHotMethod.class, "sumOfDistances", "(I)I");
+   private static final MethodInfo cellMethod = new MethodInfo("com/lexicalscope/symb/vm/tests/Cell", "viaCell", "(I)I");
+   private static final MethodInfo infeasibleMethod = new MethodInfo(StaticInfeasibleBranchMethod.class, "infeasible", "(I)I");
+
+   @Benchmark public Object concreteHotMethod() {
+      return concreteVm(hotMethod, 300).execute();
+   }
+
+   @Benchmark public Object concreteCell() {
+      return concreteVm(cellMethod, -6).execute();
+   }
+
+   /**
+    * The factory owns a z3 context, so one is made for the whole run and
+    * closed at the end, rather than leaking one per invocation.
+    */
+   @State(Scope.Benchmark)
+   public static class Symbolic {
+      SymbInstructionFactory instructionFactory;
+
+      @Setup public void open() {
+         instructionFactory = new SymbInstructionFactory();
+      }
+
+      @TearDown public void close() {
+         instructionFactory.close();
+      }
+   }
+
+   @Benchmark public Object symbolicInfeasibleBranch(final Symbolic symbolic) {
+      final SymbInstructionFactory instructionFactory = symbolic.instructionFactory;
+      return Vm.vm(instructionFactory, infeasibleMethod, instructionFactory.symbol()).execute();
+   }
+}
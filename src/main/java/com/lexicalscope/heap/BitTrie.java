@@ -3,8 +3,10 @@ package com.lexicalscope.heap;
 import java.util.ConcurrentModificationException;
 import java.util.Iterator;
 import java.util.NoSuchElementException;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
 
 import com.google.common.base.Joiner;
+import com.lexicalscope.symb.vm.HeapCursor;
 
 
 /**
@@ -78,6 +80,9 @@ final class BitTrie implements Iterable<Object>{
    // tree to start with and expand the tree upward as more keyspace is used
    private int highestBit = 0;
 
+   // changes whenever a page a cursor remembers might no longer be the one this trie uses
+   private int version = 0;
+
    // we keep track of the root at each level to avoid excessive copying
    // when we give out a key that requires a new level in the tree we
    // used the next "root" and clear the old
@@ -91,21 +96,80 @@ final class BitTrie implements Iterable<Object>{
    private Node8 root8;
 
 
+   // Reference counts are shared between every trie that shares the node, and those tries
+   // may be owned by states running on different threads, so counts are updated atomically.
+   // Children are always retained before their parent is released, so a thread that sees
+   // an unshared parent will also see the correct count for each child.
+   private static abstract class Node {
+      volatile int c = 1;
+   }
+
+   private static final AtomicIntegerFieldUpdater<Node> refCount = AtomicIntegerFieldUpdater.newUpdater(Node.class, "c");
+
+   private static void retain(final Node node) {
+      refCount.incrementAndGet(node);
+   }
+
+   private static void release(final Node node) {
+      refCount.decrementAndGet(node);
+   }
+
+   private static void retainAll(final Node[] nodes) {
+      for(int i = 0; i < nodes.length; i++){if(nodes[i] != null){retain(nodes[i]);}}
+   }
+
    // we use 8 different node types to avoid the need to cast
-   private static final class Node1 {
+   // leaves have a second, primitive, lane so that ints are not boxed. The lane is only
+   // created when the first int is written, and the bit for each slot in t says which
+   // lane holds its value
+   private static final class Node1 extends Node {
       public Node1() {
-         this(new Object[level1Width]);
+         this(new Object[level1Width], null, 0);
       }
 
-      public Node1(final Object[] clone) {
+      public Node1(final Object[] clone, final long[] p, final int t) {
          d = clone;
+         this.p = p;
+         this.t = t;
       }
 
       Object[] d;
-      int c = 1;
+      long[] p;
+      int t;
+
+      Node1 copy() {
+         return new Node1(d.clone(), p == null ? null : p.clone(), t);
+      }
+
+      Object get(final int offset) {
+         return (t & 1 << offset) != 0 ? Integer.valueOf((int) p[offset]) : d[offset];
+      }
+
+      int getInt(final int offset) {
+         if((t & 1 << offset) != 0) return (int) p[offset];
+
+         final Object value = d[offset];
+         if(value == null) return 0;
+         if(value instanceof Character) return (char) value;
+         return (int) value;
+      }
+
+      Object set(final int offset, final Object value) {
+         final Object oldValue = get(offset);
+         t &= ~(1 << offset);
+         d[offset] = value;
+         return oldValue;
+      }
+
+      void setInt(final int offset, final int value) {
+         if(p == null) p = new long[level1Width];
+         t |= 1 << offset;
+         p[offset] = value;
+         d[offset] = null;
+      }
    }
 
-   private static final class Node2 {
+   private static final class Node2 extends Node {
       public Node2() {
          this(new Node1[level2Width]);
       }
@@ -115,10 +179,9 @@ final class BitTrie implements Iterable<Object>{
       }
 
       Node1[] d;
-      int c = 1;
    }
 
-   private static final class Node3 {
+   private static final class Node3 extends Node {
       public Node3() {
          this(new Node2[level3Width]);
       }
@@ -128,10 +191,9 @@ final class BitTrie implements Iterable<Object>{
       }
 
       Node2[] d;
-      int c = 1;
    }
 
-   private static final class Node4 {
+   private static final class Node4 extends Node {
       public Node4() {
          this(new Node3[level4Width]);
       }
@@ -141,10 +203,9 @@ final class BitTrie implements Iterable<Object>{
       }
 
       Node3[] d;
-      int c = 1;
    }
 
-   private static final class Node5 {
+   private static final class Node5 extends Node {
       public Node5() {
          this(new Node4[level5Width]);
       }
@@ -154,10 +215,9 @@ final class BitTrie implements Iterable<Object>{
       }
 
       Node4[] d;
-      int c = 1;
    }
 
-   private static final class Node6 {
+   private static final class Node6 extends Node {
       public Node6() {
          this(new Node5[level6Width]);
       }
@@ -167,10 +227,9 @@ final class BitTrie implements Iterable<Object>{
       }
 
       Node5[] d;
-      int c = 1;
    }
 
-   private static final class Node7 {
+   private static final class Node7 extends Node {
       public Node7() {
          this(new Node6[level7Width]);
       }
@@ -180,10 +239,9 @@ final class BitTrie implements Iterable<Object>{
       }
 
       Node6[] d;
-      int c = 1;
    }
 
-   private static final class Node8 {
+   private static final class Node8 extends Node {
       public Node8() {
          this(new Node7[level8Width]);
       }
@@ -194,7 +252,6 @@ final class BitTrie implements Iterable<Object>{
       }
 
       Node7[] d;
-      int c = 1;
    }
 
    // This is a reference counted fast-clone associative array, it gives out keys in sequence and is optimised for that use case.
@@ -215,9 +272,11 @@ final class BitTrie implements Iterable<Object>{
       highestBit = level(free - 1);
    }
 
-   // TODO[tim] optimise
    /**
-    * Allocate a contiguous section of space
+    * Allocate a contiguous section of space. The tree is grown to cover the
+    * whole section at once, but no pages are created. Allocated space reads as
+    * null until it is written, and leaf pages are only made present (or copied,
+    * if shared) by the first write that lands in them.
     *
     * @param size the amount of space to allocate
     *
@@ -225,14 +284,36 @@ final class BitTrie implements Iterable<Object>{
     */
    public int allocate(final int size) {
       if (size <= 0) throw new IllegalArgumentException("cannot allocate " + size + " space");
+      // free is unsigned, and wraps to 0 when the whole key space is used
+      if (free == 0 || (free & 0xFFFFFFFFL) + size > 0x100000000L) throw new IndexOutOfBoundsException("BitTrie is full");
 
-      final int result = insert(null);
-      for (int i = 1; i < size; i++) {
-         insert(null);
-      }
+      final int result = free;
+      final int last = result + size - 1;
+      grow(level(last));
+      free = last + 1;
       return result;
    }
 
+   // add levels above the current root, one at a time, until the tree is tall enough for the key
+   private void grow(final int keyHighestBit) {
+      if(keyHighestBit <= highestBit) return;
+
+      final int from = depth();
+      highestBit = keyHighestBit;
+      final int to = depth();
+      for (int level = from + 1; level <= to; level++) {
+         switch (level) {
+            case 2: root2 = new Node2(); root2.d[0] = root1; root1 = null; break;
+            case 3: root3 = new Node3(); root3.d[0] = root2; root2 = null; break;
+            case 4: root4 = new Node4(); root4.d[0] = root3; root3 = null; break;
+            case 5: root5 = new Node5(); root5.d[0] = root4; root4 = null; break;
+            case 6: root6 = new Node6(); root6.d[0] = root5; root5 = null; break;
+            case 7: root7 = new Node7(); root7.d[0] = root6; root6 = null; break;
+            case 8: root8 = new Node8(); root8.d[0] = root7; root7 = null; break;
+         }
+      }
+   }
+
    /**
     * Insert the given value at the given key
     *
@@ -242,11 +323,60 @@ final class BitTrie implements Iterable<Object>{
     * @return the value that was previously at the key
     */
    public Object insert(final int key, final Object value) {
-      if (key >= free) throw new IndexOutOfBoundsException("Inserting Past End of BitTrie " + key);
+      // keys are unsigned, and free wraps to 0 once the last key is given out
+      if (free != 0 && (key & 0xFFFFFFFFL) >= (free & 0xFFFFFFFFL)) throw new IndexOutOfBoundsException("Inserting Past End of BitTrie " + key);
 
       return insertAt(key, value);
    }
 
+   /**
+    * A cursor for reading or writing a run of consecutive keys.
+    *
+    * @param key the first key the cursor will read or write
+    */
+   public Cursor cursor(final int key) {
+      return new Cursor(key);
+   }
+
+   /**
+    * Copy a run of keys, keeping each value in its lane so that ints stay
+    * unboxed. Overlapping runs are copied in whichever direction reads each key
+    * before it is overwritten.
+    *
+    * @param from the first key to copy from
+    * @param to the first key to copy to, the run must already have been allocated
+    * @param length the number of keys to copy
+    */
+   public void copyRange(final int from, final int to, final int length) {
+      if(length <= 0) return;
+
+      final boolean backwards = (to & 0xFFFFFFFFL) > (from & 0xFFFFFFFFL);
+      final int first = backwards ? length - 1 : 0;
+      final int step = backwards ? -1 : 1;
+      final Cursor source = new Cursor(from + first);
+      final Cursor destination = new Cursor(to + first);
+      for (int i = 0; i < length; i++) {
+         destination.copyFrom(source, step);
+      }
+   }
+
+   /**
+    * Insert an int at the given key, without boxing it
+    *
+    * @param key the key must already have been allocated
+    * @param value the value to insert
+    */
+   public void insertInt(final int key, final int value) {
+      if (free != 0 && (key & 0xFFFFFFFFL) >= (free & 0xFFFFFFFFL)) throw new IndexOutOfBoundsException("Inserting Past End of BitTrie " + key);
+
+      leafForWrite(key).setInt(key & _level1Mask, value);
+   }
+
+   // the next key that will be given out
+   int free() {
+      return free;
+   }
+
    public int nullPointer() {
       return 0;
    }
@@ -255,6 +385,8 @@ final class BitTrie implements Iterable<Object>{
    // the way that clone works at the moment means we have to check that no parent node
    // has a reference count higher than 1
    public int insert(final Object value) {
+      // null is what absent pages read as anyway
+      if(value == null) return allocate(1);
       if(free == 0) throw new IndexOutOfBoundsException("BitTrie is full");
 
       if(highestBit < 29) highestBit = level(free);
@@ -269,7 +401,14 @@ final class BitTrie implements Iterable<Object>{
    }
 
    private Object insertAt(final int index, final Object value) {
+      return leafForWrite(index).set(index & _level1Mask, value);
+   }
+
+   // finds the leaf that holds the index, creating it or copying it (and every
+   // node above it) so that it belongs to this trie alone
+   private Node1 leafForWrite(final int index) {
       assert invariant() : summary(index);
+      version++;
 
       Node8 trav8 = null;
       Node7 trav7 = null;
@@ -288,12 +427,12 @@ final class BitTrie implements Iterable<Object>{
             final int level8Offset = (index & _level8Mask) >>> level8Shift;
             init = true;
             if(root8 == null) {root8 = new Node8(); root8.d[0] = root7; root7 = null;}
-            if(root8.c > 1) {final Node8 copy = new Node8(root8.d.clone()); root8.c--; root8 = copy; for(int i = 0; i < root8.d.length; i++){if(root8.d[i] != null){root8.d[i].c++;}}}
+            if(root8.c > 1) {final Node8 copy = new Node8(root8.d.clone()); retainAll(copy.d); release(root8); root8 = copy;}
             trav8 = root8;
             if(trav8.d[level8Offset] == null) { trav8.d[level8Offset] = new Node7(); }
 
             trav7 = trav8.d[level8Offset];
-            if(trav7.c > 1) {final Node7 copy = new Node7(trav7.d.clone()); trav7.c--; trav8.d[level8Offset] = trav7 = copy; for(int i = 0; i < trav7.d.length; i++){if(trav7.d[i] != null){trav7.d[i].c++;}}}
+            if(trav7.c > 1) {final Node7 copy = new Node7(trav7.d.clone()); retainAll(copy.d); release(trav7); trav8.d[level8Offset] = trav7 = copy;}
          case 28:
          case 27:
          case 26:
@@ -302,12 +441,12 @@ final class BitTrie implements Iterable<Object>{
             if(!init){
                init = true;
                if(root7 == null) {root7 = new Node7(); root7.d[0] = root6; root6 = null;}
-               if(root7.c > 1) {final Node7 copy = new Node7(root7.d.clone()); root7.c--; root7 = copy; for(int i = 0; i < root7.d.length; i++){if(root7.d[i] != null){root7.d[i].c++;}}}
+               if(root7.c > 1) {final Node7 copy = new Node7(root7.d.clone()); retainAll(copy.d); release(root7); root7 = copy;}
                trav7 = root7;}
             if(trav7.d[level7Offset] == null) { trav7.d[level7Offset] = new Node6(); }
 
             trav6 = trav7.d[level7Offset];
-            if(trav6.c > 1) {final Node6 copy = new Node6(trav6.d.clone()); trav6.c--; trav7.d[level7Offset] = trav6 = copy; for(int i = 0; i < trav6.d.length; i++){if(trav6.d[i] != null){trav6.d[i].c++;}}}
+            if(trav6.c > 1) {final Node6 copy = new Node6(trav6.d.clone()); retainAll(copy.d); release(trav6); trav7.d[level7Offset] = trav6 = copy;}
          case 24:
          case 23:
          case 22:
@@ -316,12 +455,12 @@ final class BitTrie implements Iterable<Object>{
             if(!init){
                init = true;
                if(root6 == null) {root6 = new Node6(); root6.d[0] = root5; root5 = null;}
-               if(root6.c > 1) {final Node6 copy = new Node6(root6.d.clone()); root6.c--; root6 = copy; for(int i = 0; i < root6.d.length; i++){if(root6.d[i] != null){root6.d[i].c++;}}}
+               if(root6.c > 1) {final Node6 copy = new Node6(root6.d.clone()); retainAll(copy.d); release(root6); root6 = copy;}
                trav6 = root6;}
             if(trav6.d[level6Offset] == null) { trav6.d[level6Offset] = new Node5(); }
 
             trav5 = trav6.d[level6Offset];
-            if(trav5.c > 1) {final Node5 copy = new Node5(trav5.d.clone()); trav5.c--; trav6.d[level6Offset] = trav5 = copy; for(int i = 0; i < trav5.d.length; i++){if(trav5.d[i] != null){trav5.d[i].c++;}}}
+            if(trav5.c > 1) {final Node5 copy = new Node5(trav5.d.clone()); retainAll(copy.d); release(trav5); trav6.d[level6Offset] = trav5 = copy;}
          case 20:
          case 19:
          case 18:
@@ -330,12 +469,12 @@ final class BitTrie implements Iterable<Object>{
             if(!init){
                init = true;
                if(root5 == null) {root5 = new Node5(); root5.d[0] = root4; root4 = null;}
-               if(root5.c > 1) {final Node5 copy = new Node5(root5.d.clone()); root5.c--; root5 = copy; for(int i = 0; i < root5.d.length; i++){if(root5.d[i] != null){root5.d[i].c++;}}}
+               if(root5.c > 1) {final Node5 copy = new Node5(root5.d.clone()); retainAll(copy.d); release(root5); root5 = copy;}
                trav5 = root5;}
             if(trav5.d[level5Offset] == null) { trav5.d[level5Offset] = new Node4(); }
 
             trav4 = trav5.d[level5Offset];
-            if(trav4.c > 1) {final Node4 copy = new Node4(trav4.d.clone()); trav4.c--; trav5.d[level5Offset] = trav4 = copy; for(int i = 0; i < trav4.d.length; i++){if(trav4.d[i] != null){trav4.d[i].c++;}}}
+            if(trav4.c > 1) {final Node4 copy = new Node4(trav4.d.clone()); retainAll(copy.d); release(trav4); trav5.d[level5Offset] = trav4 = copy;}
          case 16:
          case 15:
          case 14:
@@ -344,12 +483,12 @@ final class BitTrie implements Iterable<Object>{
             if(!init){
                init = true;
                if(root4 == null) {root4 = new Node4(); root4.d[0] = root3; root3 = null;}
-               if(root4.c > 1) {final Node4 copy = new Node4(root4.d.clone()); root4.c--; root4 = copy; for(int i = 0; i < root4.d.length; i++){if(root4.d[i] != null){root4.d[i].c++;}}}
+               if(root4.c > 1) {final Node4 copy = new Node4(root4.d.clone()); retainAll(copy.d); release(root4); root4 = copy;}
                trav4 = root4;}
             if(trav4.d[level4Offset] == null) { trav4.d[level4Offset] = new Node3(); }
 
             trav3 = trav4.d[level4Offset];
-            if(trav3.c > 1) {final Node3 copy = new Node3(trav3.d.clone()); trav3.c--; trav4.d[level4Offset] = trav3 = copy; for(int i = 0; i < trav3.d.length; i++){if(trav3.d[i] != null){trav3.d[i].c++;}}}
+            if(trav3.c > 1) {final Node3 copy = new Node3(trav3.d.clone()); retainAll(copy.d); release(trav3); trav4.d[level4Offset] = trav3 = copy;}
          case 12:
          case 11:
          case 10:
@@ -358,12 +497,12 @@ final class BitTrie implements Iterable<Object>{
             if(!init){
                init = true;
                if(root3 == null) {root3 = new Node3(); root3.d[0] = root2; root2 = null;}
-               if(root3.c > 1) {final Node3 copy = new Node3(root3.d.clone()); root3.c--; root3 = copy; for(int i = 0; i < root3.d.length; i++){if(root3.d[i] != null){root3.d[i].c++;}}}
+               if(root3.c > 1) {final Node3 copy = new Node3(root3.d.clone()); retainAll(copy.d); release(root3); root3 = copy;}
                trav3 = root3;}
             if(trav3.d[level3Offset] == null) { trav3.d[level3Offset] = new Node2(); }
 
             trav2 = trav3.d[level3Offset];
-            if(trav2.c > 1) {final Node2 copy = new Node2(trav2.d.clone()); trav2.c--; trav3.d[level3Offset] = trav2 = copy; for(int i = 0; i < trav2.d.length; i++){if(trav2.d[i] != null){trav2.d[i].c++;}}}
+            if(trav2.c > 1) {final Node2 copy = new Node2(trav2.d.clone()); retainAll(copy.d); release(trav2); trav3.d[level3Offset] = trav2 = copy;}
          case 8:
          case 7:
          case 6:
@@ -372,12 +511,12 @@ final class BitTrie implements Iterable<Object>{
             if(!init){
                init = true;
                if(root2 == null) {root2 = new Node2(); root2.d[0] = root1; root1 = null;}
-               if(root2.c > 1) {final Node2 copy = new Node2(root2.d.clone()); root2.c--; root2 = copy; for(int i = 0; i < root2.d.length; i++){if(root2.d[i] != null){root2.d[i].c++;}}}
+               if(root2.c > 1) {final Node2 copy = new Node2(root2.d.clone()); retainAll(copy.d); release(root2); root2 = copy;}
                trav2 = root2;}
             if(trav2.d[level2Offset] == null) { trav2.d[level2Offset] = new Node1(); }
 
             trav1 = trav2.d[level2Offset];
-            if(trav1.c > 1) {final Node1 copy = new Node1(trav1.d.clone()); trav1.c--; trav2.d[level2Offset] = trav1 = copy;}
+            if(trav1.c > 1) {final Node1 copy = trav1.copy(); release(trav1); trav2.d[level2Offset] = trav1 = copy;}
          case 4:
          case 3:
          case 2:
@@ -388,16 +527,12 @@ final class BitTrie implements Iterable<Object>{
       if(!init){
          init = true;
          if(root1 == null){root1 = new Node1(); root1.d = new Object[level1Width];}
-         if(root1.c > 1) {final Node1 copy = new Node1(root1.d.clone()); root1.c--; root1 = copy;}
+         if(root1.c > 1) {final Node1 copy = root1.copy(); release(root1); root1 = copy;}
          trav1 = root1;
       }
 
-      final int level1Offset = index & _level1Mask;
-      final Object oldValue = trav1.d[level1Offset];
-      trav1.d[level1Offset] = value;
-
       assert invariant() : summary(index);
-      return oldValue;
+      return trav1;
    }
 
    private String summary(final int index) {
@@ -411,6 +546,20 @@ final class BitTrie implements Iterable<Object>{
 
    public Object get(final int key) {
       if(key == 0) { return null; };
+      final Node1 leaf = leafForRead(key);
+      return leaf == null ? null : leaf.get(key & _level1Mask);
+   }
+
+   /**
+    * Get the value at the key as an int. Keys that have never been written read as 0.
+    */
+   public int getInt(final int key) {
+      final Node1 leaf = leafForRead(key);
+      return leaf == null ? 0 : leaf.getInt(key & _level1Mask);
+   }
+
+   // finds the leaf that holds the key, or null if it has never been written
+   private Node1 leafForRead(final int key) {
       Node7 trav7 = null;
       Node6 trav6 = null;
       Node5 trav5 = null;
@@ -419,54 +568,58 @@ final class BitTrie implements Iterable<Object>{
       Node2 trav2 = null;
       Node1 trav1 = null;
 
+      // nodes are only created when something is written below them, so any node on the
+      // path may be absent. An absent node reads as null all the way down. A traversal
+      // node is only null on entry to the switch, so a null there means start at the root.
       switch (highestBit) {
          case 31:
          case 30:
          case 29:
-            trav7 = root8.d[(key & _level8Mask) >>> level8Shift];
+            if(root8 == null) return null;
+            if((trav7 = root8.d[(key & _level8Mask) >>> level8Shift]) == null) return null;
          case 28:
          case 27:
          case 26:
          case 25:
-            if(trav7 == null) trav7 = root7;
-             trav6 = trav7.d[(key & _level7Mask) >>> level7Shift];
+            if(trav7 == null && (trav7 = root7) == null) return null;
+            if((trav6 = trav7.d[(key & _level7Mask) >>> level7Shift]) == null) return null;
          case 24:
          case 23:
          case 22:
          case 21:
-            if(trav6 == null) trav6 = root6;
-             trav5 = trav6.d[(key & _level6Mask) >>> level6Shift];
+            if(trav6 == null && (trav6 = root6) == null) return null;
+            if((trav5 = trav6.d[(key & _level6Mask) >>> level6Shift]) == null) return null;
          case 20:
          case 19:
          case 18:
          case 17:
-            if(trav5 == null) trav5 = root5;
-             trav4 = trav5.d[(key & _level5Mask) >>> level5Shift];
+            if(trav5 == null && (trav5 = root5) == null) return null;
+            if((trav4 = trav5.d[(key & _level5Mask) >>> level5Shift]) == null) return null;
          case 16:
          case 15:
          case 14:
          case 13:
-            if(trav4 == null) trav4 = root4;
-            trav3 = trav4.d[(key & _level4Mask) >>> level4Shift];
+            if(trav4 == null && (trav4 = root4) == null) return null;
+            if((trav3 = trav4.d[(key & _level4Mask) >>> level4Shift]) == null) return null;
          case 12:
          case 11:
          case 10:
          case 9:
-            if(trav3 == null) trav3 = root3;
-            trav2 = trav3.d[(key & _level3Mask) >>> level3Shift];
+            if(trav3 == null && (trav3 = root3) == null) return null;
+            if((trav2 = trav3.d[(key & _level3Mask) >>> level3Shift]) == null) return null;
          case 8:
          case 7:
          case 6:
          case 5:
-            if(trav2 == null) trav2 = root2;
-            trav1 = trav2.d[(key & _level2Mask) >>> level2Shift];
+            if(trav2 == null && (trav2 = root2) == null) return null;
+            if((trav1 = trav2.d[(key & _level2Mask) >>> level2Shift]) == null) return null;
          case 4:
          case 3:
          case 2:
          case 1:
          case 0:
             if(trav1 == null) trav1 = root1;
-            return trav1.d[key & _level1Mask];
+            return trav1;
       }
       throw new IndexOutOfBoundsException("the key you have requested is in free space: "+ key);
    }
@@ -532,6 +685,8 @@ final class BitTrie implements Iterable<Object>{
    }
 
    public BitTrie copy() {
+      // every node is now shared, so cursors must not write into the pages they remember
+      version++;
       final BitTrie result = new BitTrie(free);
       switch (highestBit) {
          case 0:
@@ -540,60 +695,139 @@ final class BitTrie implements Iterable<Object>{
          case 3:
          case 4:
              result.root1 = root1;
-             if(root1 != null) root1.c++;
+             if(root1 != null) retain(root1);
              break;
          case 5:
          case 6:
          case 7:
          case 8:
             result.root2 = root2;
-            root2.c++;
+            if(root2 != null) retain(root2);
             break;
          case 9:
          case 10:
          case 11:
          case 12:
             result.root3 = root3;
-            root3.c++;
+            if(root3 != null) retain(root3);
             break;
          case 13:
          case 14:
          case 15:
          case 16:
             result.root4 = root4;
-            root4.c++;
+            if(root4 != null) retain(root4);
             break;
          case 17:
          case 18:
          case 19:
          case 20:
             result.root5 = root5;
-            root5.c++;
+            if(root5 != null) retain(root5);
             break;
          case 21:
          case 22:
          case 23:
          case 24:
             result.root6 = root6;
-            root6.c++;
+            if(root6 != null) retain(root6);
             break;
          case 25:
          case 26:
          case 27:
          case 28:
             result.root7 = root7;
-            root7.c++;
+            if(root7 != null) retain(root7);
             break;
          case 29:
          case 30:
          case 31:
             result.root8 = root8;
-            root8.c++;
+            if(root8 != null) retain(root8);
             break;
       }
       return result;
    }
 
+   /**
+    * Remembers the leaf page it is in, so that consecutive reads and writes
+    * only walk the trie when they cross into a new page, or when the trie has
+    * been copied or written by someone else since the page was found.
+    */
+   final class Cursor implements HeapCursor {
+      private int key;
+
+      private boolean remembered;
+      private int pageKey;
+      private int pageVersion;
+      private Node1 page; // null if the page is absent
+      private boolean writable;
+
+      private Cursor(final int key) {
+         this.key = key;
+      }
+
+      @Override public Object read() {
+         final Node1 current = readablePage();
+         final Object result = current == null ? null : current.get(key & _level1Mask);
+         key++;
+         return result;
+      }
+
+      @Override public void write(final Object val) {
+         writablePage().set(key & _level1Mask, val);
+         key++;
+      }
+
+      @Override public void writeInt(final int val) {
+         writablePage().setInt(key & _level1Mask, val);
+         key++;
+      }
+
+      // copies the slot under the source into the slot under this cursor, then moves both by step
+      private void copyFrom(final Cursor source, final int step) {
+         final Node1 from = source.readablePage();
+         final int fromOffset = source.key & _level1Mask;
+         if(from != null && (from.t & 1 << fromOffset) != 0) {
+            writablePage().setInt(key & _level1Mask, (int) from.p[fromOffset]);
+         } else {
+            writablePage().set(key & _level1Mask, from == null ? null : from.d[fromOffset]);
+         }
+         source.key += step;
+         key += step;
+      }
+
+      private Node1 readablePage() {
+         if(!remembered()) {
+            page = leafForRead(key);
+            writable = false;
+            remember();
+         }
+         return page;
+      }
+
+      private Node1 writablePage() {
+         if (free != 0 && (key & 0xFFFFFFFFL) >= (free & 0xFFFFFFFFL)) throw new IndexOutOfBoundsException("Inserting Past End of BitTrie " + key);
+
+         if(!writable || !remembered()) {
+            page = leafForWrite(key);
+            writable = true;
+            remember();
+         }
+         return page;
+      }
+
+      private boolean remembered() {
+         return remembered && pageVersion == version && (key & ~_level1Mask) == pageKey;
+      }
+
+      private void remember() {
+         remembered = true;
+         pageVersion = version;
+         pageKey = key & ~_level1Mask;
+      }
+   }
+
    @Override
    public Iterator<Object> iterator() {
       return new BitTrieIterator(this, free);
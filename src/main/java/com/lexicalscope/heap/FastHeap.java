@@ -1,6 +1,7 @@
 package com.lexicalscope.heap;
 
 import com.lexicalscope.symb.vm.Heap;
+import com.lexicalscope.symb.vm.HeapCursor;
 import com.lexicalscope.symb.vm.ObjectRef;
 import com.lexicalscope.symb.vm.classloader.Allocatable;
 
@@ -31,6 +32,26 @@ public class FastHeap implements Heap {
       return trie.get(objectForRef(obj) + offset);
    }
 
+   @Override
+   public void putInt(final Object obj, final int offset, final int val) {
+      trie.insertInt(objectForRef(obj) + offset, val);
+   }
+
+   @Override
+   public int getInt(final Object obj, final int offset) {
+      return trie.getInt(objectForRef(obj) + offset);
+   }
+
+   @Override
+   public HeapCursor cursor(final Object obj, final int offset) {
+      return trie.cursor(objectForRef(obj) + offset);
+   }
+
+   @Override
+   public void copy(final Object src, final int srcOffset, final Object dest, final int destOffset, final int length) {
+      trie.copyRange(objectForRef(src) + srcOffset, objectForRef(dest) + destOffset, length);
+   }
+
    private int objectForRef(final Object obj) {
       return ((ObjectRef) obj).address();
    }
@@ -0,0 +1,37 @@
+package com.lexicalscope.heap;
+
+/**
+ * A fast-clone array indexed by small non-negative ints, such as dense ids.
+ * Unset indexes read as null. Copies share structure until written.
+ *
+ * @author tim
+ */
+public final class IntTrie<V> {
+   private final BitTrie trie;
+
+   public IntTrie() {
+      this(new BitTrie());
+   }
+
+   private IntTrie(final BitTrie trie) {
+      this.trie = trie;
+   }
+
+   // key 0 is the trie's null, so index i lives at key i + 1
+   @SuppressWarnings("unchecked") public V get(final int index) {
+      final int key = index + 1;
+      return key < trie.free() ? (V) trie.get(key) : null;
+   }
+
+   public void put(final int index, final V value) {
+      final int key = index + 1;
+      if(key >= trie.free()) {
+         trie.allocate(key - trie.free() + 1);
+      }
+      trie.insert(key, value);
+   }
+
+   public IntTrie<V> copy() {
+      return new IntTrie<>(trie.copy());
+   }
+}
@@ -1,81 +1,95 @@
 package com.lexicalscope.symb.vm;
 
-import static com.google.common.collect.Iterables.elementsEqual;
 import static java.util.Objects.hash;
 
-import java.util.ArrayDeque;
-import java.util.Deque;
-import java.util.Iterator;
+import java.util.ArrayList;
+import java.util.List;
 
 import com.lexicalscope.symb.vm.classloader.SMethod;
 
+/**
+ * The frames form a persistent linked list, which snapshots share. Each frame
+ * is stamped with the stack that may write to it, and a snapshot gives both
+ * stacks a fresh stamp. So a snapshot is O(1), and a frame is only copied
+ * when one of the stacks sharing it is about to change it.
+ */
 public class DequeStack implements Stack {
-	private final Deque<StackFrame> stack;
+   private static final class Frame {
+      final StackFrame stackFrame;
+      final Frame previous;
+      final int depth;
+      final Object owner;
+
+      Frame(final StackFrame stackFrame, final Frame previous, final Object owner) {
+         this.stackFrame = stackFrame;
+         this.previous = previous;
+         this.depth = previous == null ? 1 : previous.depth + 1;
+         this.owner = owner;
+      }
+   }
+
+	private Frame head;
+	private Object owner = new Object();
    private Object currentThread;
 
-	private DequeStack(final Deque<StackFrame> stack, final Object currentThread) {
-		this.stack = stack;
+	private DequeStack(final Frame head, final Object currentThread) {
+		this.head = head;
       this.currentThread = currentThread;
 	}
 
 	public DequeStack(final InstructionNode instruction, final int maxLocals,
 			final int maxStack) {
-		this(new ArrayDeque<StackFrame>() {
-			{
-				push(new StackFrame(instruction, maxLocals, maxStack));
-			}
-		}, null);
+		this(null, null);
+		head = new Frame(new StackFrame(instruction, maxLocals, maxStack), null, owner);
 	}
 
 	@Override
    public Stack popFrame(final int returnCount) {
-		pushOperands(stack.pop().pop(returnCount));
+		// the returning frame is discarded, so there is no need to own it
+		final StackFrame returning = head.stackFrame;
+		head = head.previous;
+		returning.pushResults(head(), returnCount);
 		return this;
 	}
 
 	@Override
    public Stack pushFrame(final InstructionNode returnTo, final SMethod method, final int argCount) {
-		final Object[] args = head().advance(returnTo).pop(argCount);
-		stack.push(new StackFrame(method.entry(), method.maxLocals(),
-				method.maxStack()).setLocals(args));
-		return this;
-	}
-
-	private Stack pushOperands(final Object[] operands) {
-		head().pushAll(operands);
+		final StackFrame callee = new StackFrame(method.entry(), method.maxLocals(), method.maxStack());
+		head().advance(returnTo).popArgs(callee, argCount);
+		head = new Frame(callee, head, owner);
 		return this;
 	}
 
 	@Override
    public InstructionNode instruction() {
-		return head().instruction();
+		return head.stackFrame.instruction();
 	}
 
+	// the top frame, copied first if it is shared with another stack
 	private StackFrame head() {
-		return stack.peek();
+		if(head.owner != owner) {
+		   head = new Frame(head.stackFrame.snapshot(), head.previous, owner);
+		}
+		return head.stackFrame;
 	}
 
 	@Override public <T> T query(final Op<T> op, final Statics statics, final Heap heap) {
-		return op.eval(stack.peek(), this, heap, statics);
+		return op.eval(head(), this, heap, statics);
 	}
 
 	@Override public void query(final Vop op, final Statics statics, final Heap heap) {
-	   op.eval(stack.peek(), this, heap, statics);
+	   op.eval(head(), this, heap, statics);
 	}
 
 	@Override
    public int size() {
-		return stack.size();
+		return head == null ? 0 : head.depth;
 	}
 
 	@Override
    public DequeStack snapshot() {
-		final ArrayDeque<StackFrame> stackCopy = new ArrayDeque<>(stack.size());
-		for (final Iterator<StackFrame> iterator = stack.descendingIterator(); iterator.hasNext();) {
-			stackCopy.push(iterator.next().snapshot());
-		}
-		assert stackCopy.size() == stack.size();
-		return new DequeStack(stackCopy, currentThread);
+		owner = new Object();
+		return new DequeStack(head, currentThread);
 	}
 
 	@Override public void currentThread(final Object currentThread) {
@@ -87,22 +101,31 @@ public class DequeStack implements Stack {
       return currentThread;
    }
 
+   // top frame first
+   private List<StackFrame> frames() {
+      final List<StackFrame> result = new ArrayList<>(size());
+      for (Frame frame = head; frame != null; frame = frame.previous) {
+         result.add(frame.stackFrame);
+      }
+      return result;
+   }
+
 	@Override
 	public boolean equals(final Object obj) {
 		if (obj != null && obj.getClass().equals(this.getClass())) {
 			final DequeStack that = (DequeStack) obj;
-			return elementsEqual(this.stack, that.stack);
+			return this.frames().equals(that.frames());
 		}
 		return false;
 	}
 
 	@Override
 	public int hashCode() {
-		return hash(stack.toArray());
+		return hash(frames().toArray());
 	}
 
 	@Override
 	public String toString() {
-		return String.format("%s", stack);
+		return String.format("%s", frames());
 	}
 }
@@ -0,0 +1,11 @@
+package com.lexicalscope.symb.vm;
+
+/**
+ * Whatever is exploring a state, told when the state forks.
+ */
+public interface Explorer {
+   /**
+    * The forked states replace the state that was being explored.
+    */
+   void fork(State[] states);
+}
@@ -8,6 +8,22 @@ public interface Heap extends Snapshotable<Heap> {
    void put(Object address, int offset, Object val);
    Object get(Object address, int offset);
 
+   /**
+    * Store an int without boxing it. Slots that have never been written read as 0.
+    */
+   void putInt(Object address, int offset, int val);
+   int getInt(Object address, int offset);
+
+   /**
+    * A cursor over the slots of an object, starting at the given offset
+    */
+   HeapCursor cursor(Object address, int offset);
+
+   /**
+    * Copy a run of slots, as System.arraycopy does. The ranges may overlap.
+    */
+   void copy(Object src, int srcOffset, Object dest, int destOffset, int length);
+
    Object nullPointer();
 
    /**
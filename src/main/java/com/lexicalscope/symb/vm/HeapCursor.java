@@ -0,0 +1,11 @@
+package com.lexicalscope.symb.vm;
+
+/**
+ * Reads or writes consecutive heap slots, starting from a given address and
+ * offset. Each read or write moves the cursor on to the next slot.
+ */
+public interface HeapCursor {
+   Object read();
+   void write(Object val);
+   void writeInt(int val);
+}
@@ -2,5 +2,5 @@ package com.lexicalscope.symb.vm;
 
 
 public interface Instruction {
-   void eval(Vm vm, State state, InstructionNode instruction);
+   void eval(Explorer explorer, State state, InstructionNode instruction);
 }
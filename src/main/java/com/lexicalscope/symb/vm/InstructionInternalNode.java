@@ -12,6 +12,7 @@ public class InstructionInternalNode implements InstructionNode {
    private final Instruction instruction;
    private InstructionNode next;
    private InstructionNode target;
+   private boolean covered;
 
    public InstructionInternalNode(final Instruction instruction) {
       this.instruction = instruction;
@@ -20,10 +21,11 @@ public class InstructionInternalNode implements InstructionNode {
       target = terminate;
    }
 
-   @Override public void eval(final Vm vm, final StateImpl state) {
+   @Override public void eval(final Explorer explorer, final StateImpl state) {
       assert next != null;
 
-      instruction.eval(vm, state, this);
+      if(!covered) covered = true;
+      instruction.eval(explorer, state, this);
    }
 
    @Override public InstructionNode next(final InstructionNode instruction) {
@@ -43,6 +45,10 @@ public class InstructionInternalNode implements InstructionNode {
       target = instruction;
    }
 
+   @Override public boolean covered() {
+      return covered;
+   }
+
    @Override public String toString() {
       return String.format("%s", instruction.toString(), next);
    }
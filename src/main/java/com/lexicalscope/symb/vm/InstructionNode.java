@@ -7,11 +7,16 @@ package com.lexicalscope.symb.vm;
  * @author tim
  */
 public interface InstructionNode {
-   void eval(Vm vm, StateImpl state);
+   void eval(Explorer explorer, StateImpl state);
 
    InstructionNode next(InstructionNode instruction);
    void jmpTarget(InstructionNode instruction);
 
    InstructionNode next();
    InstructionNode jmpTarget();
+
+   /**
+    * @return true once any state has executed this instruction
+    */
+   boolean covered();
 }
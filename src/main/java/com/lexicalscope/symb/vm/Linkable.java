@@ -0,0 +1,14 @@
+package com.lexicalscope.symb.vm;
+
+import com.lexicalscope.symb.vm.classloader.SClass;
+
+/**
+ * Instructions that can resolve some of their references when the method
+ * containing them is linked.
+ */
+public interface Linkable {
+   /**
+    * @param klass the class declaring the method being linked
+    */
+   void link(SClass klass);
+}
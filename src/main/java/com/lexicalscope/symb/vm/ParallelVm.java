@@ -0,0 +1,180 @@
+package com.lexicalscope.symb.vm;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import com.lexicalscope.symb.vm.classloader.MethodInfo;
+import com.lexicalscope.symb.vm.concinstructions.ConcInstructionFactory;
+import com.lexicalscope.symb.vm.instructions.InstructionFactory;
+import com.lexicalscope.symb.vm.instructions.TerminationException;
+
+/**
+ * Explores paths on several threads. Each worker keeps its own deque of
+ * pending states, working depth first from the head, and when it runs out
+ * of work it steals the oldest pending state from the tail of another
+ * worker's deque.
+ *
+ * States are independent after a snapshot, so the set of finished states is
+ * the same as for the sequential {@link Vm}, only the order differs.
+ *
+ * A worker with nothing to do waits until another worker forks or the last
+ * state finishes. Symbolic workers check feasibility in parallel, each on its
+ * own z3 solver, see {@link com.lexicalscope.symb.z3.FeasibilityChecker}.
+ *
+ * @author tim
+ */
+public final class ParallelVm {
+   private final Worker[] workers;
+   private final Collection<State> finished = new ConcurrentLinkedQueue<>();
+
+   // states that are pending or running, when it reaches zero there is no more work
+   private final AtomicInteger outstanding = new AtomicInteger();
+   private final AtomicReference<Throwable> failure = new AtomicReference<>();
+
+   // idle workers wait on this, the count lets busy workers skip the notify when nobody is waiting
+   private final Object idle = new Object();
+   private final AtomicInteger waiting = new AtomicInteger();
+
+   public ParallelVm(final State state, final int workerCount) {
+      if (workerCount <= 0) throw new IllegalArgumentException("need at least one worker, not " + workerCount);
+
+      workers = new Worker[workerCount];
+      for (int i = 0; i < workers.length; i++) {
+         workers[i] = new Worker(i);
+      }
+
+      outstanding.set(1);
+      workers[0].pending.push(state);
+   }
+
+   public State execute() {
+      final List<Thread> threads = new ArrayList<>(workers.length);
+      for (final Worker worker : workers) {
+         final Thread thread = new Thread(worker, "svm-worker-" + worker.index);
+         threads.add(thread);
+         thread.start();
+      }
+
+      for (final Thread thread : threads) {
+         try {
+            thread.join();
+         } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("interrupted waiting for workers", e);
+         }
+      }
+
+      final Throwable cause = failure.get();
+      if (cause instanceof RuntimeException) throw (RuntimeException) cause;
+      if (cause instanceof Error) throw (Error) cause;
+      if (cause != null) throw new RuntimeException(cause);
+
+      return result();
+   }
+
+   public State result() {
+      return finished.isEmpty() ? null : finished.iterator().next();
+   }
+
+   public Collection<State> results() {
+      return finished;
+   }
+
+   private boolean hasPending() {
+      for (final Worker worker : workers) {
+         if (!worker.pending.isEmpty()) return true;
+      }
+      return false;
+   }
+
+   private void awaitWork() throws InterruptedException {
+      synchronized (idle) {
+         waiting.incrementAndGet();
+         try {
+            while (failure.get() == null && outstanding.get() != 0 && !hasPending()) {
+               idle.wait();
+            }
+         } finally {
+            waiting.decrementAndGet();
+         }
+      }
+   }
+
+   // callers change the work or failure state first, so a waiting worker cannot miss it
+   private void wakeIdle() {
+      if (waiting.get() == 0) return;
+      synchronized (idle) {
+         idle.notifyAll();
+      }
+   }
+
+   private final class Worker implements Explorer, Runnable {
+      private final int index;
+      private final ConcurrentLinkedDeque<State> pending = new ConcurrentLinkedDeque<>();
+      private State current;
+
+      Worker(final int index) {
+         this.index = index;
+      }
+
+      @Override public void run() {
+         try {
+            while (failure.get() == null) {
+               if (current == null) {
+                  current = next();
+                  if (current == null) {
+                     if (outstanding.get() == 0) return;
+                     awaitWork();
+                     continue;
+                  }
+               }
+
+               try {
+                  current.advance(this);
+               } catch (final TerminationException termination) {
+                  assert current == termination.getFinalState();
+                  finished.add(current);
+                  current = null;
+                  if (outstanding.decrementAndGet() == 0) wakeIdle();
+               }
+            }
+         } catch (final Throwable t) {
+            failure.compareAndSet(null, t);
+            wakeIdle();
+         }
+      }
+
+      private State next() {
+         final State local = pending.pollFirst();
+         if (local != null) return local;
+
+         for (int i = 1; i < workers.length; i++) {
+            final State stolen = workers[(index + i) % workers.length].pending.pollLast();
+            if (stolen != null) return stolen;
+         }
+         return null;
+      }
+
+      @Override public void fork(final State[] states) {
+         outstanding.addAndGet(states.length - 1);
+         for (int i = 0; i < states.length - 1; i++) {
+            pending.push(states[i]);
+         }
+         current = states[states.length - 1];
+         if (states.length > 1) wakeIdle();
+      }
+   }
+
+   public static ParallelVm parallelConcreteVm(final int workerCount, final MethodInfo entryPoint, final Object ... args) {
+      return parallelVm(workerCount, new ConcInstructionFactory(), entryPoint, args);
+   }
+
+   public static ParallelVm parallelVm(final int workerCount, final InstructionFactory instructionFactory, final MethodInfo entryPoint, final Object ... args) {
+      return new ParallelVm(Vm.initialState(instructionFactory, entryPoint, args), workerCount);
+   }
+}
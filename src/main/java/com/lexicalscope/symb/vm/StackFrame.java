@@ -4,6 +4,9 @@ import static java.util.Arrays.copyOf;
 
 public final class StackFrame {
 	private final Object[] stack;
+	// int values live here unboxed, the matching bit of tags marks slots that use it
+	private final long[] prims;
+	private final long[] tags;
 	private InstructionNode instruction; // PC
 	private final int opBot; // pointer to bottom of operand stack
 	private int opTop; // pointer to top of operand stack
@@ -13,16 +16,25 @@ public final class StackFrame {
 			final InstructionNode instruction,
 			final int maxLocals,
 			final int maxStack) {
-		this(instruction, new Object[maxLocals + maxStack], maxLocals - 1, maxLocals - 1);
+		this(instruction,
+		      new Object[maxLocals + maxStack],
+		      new long[maxLocals + maxStack],
+		      new long[(maxLocals + maxStack + 63) >>> 6],
+		      maxLocals - 1,
+		      maxLocals - 1);
 	}
 
 	private StackFrame(
 	      final InstructionNode instruction,
 	      final Object[] stack,
+	      final long[] prims,
+	      final long[] tags,
 	      final int opBot,
 	      final int opTop) {
 		this.instruction = instruction;
 		this.stack = stack;
+		this.prims = prims;
+		this.tags = tags;
       this.opBot = opBot;
 		this.opTop = opTop;
 	}
@@ -34,18 +46,59 @@ public final class StackFrame {
 
 	public StackFrame push(final Object val) {
 		opTop++;
-		stack[opTop] = val;
+		write(opTop, val);
 		return this;
 	}
 
 	public Object pop() {
 		try {
-			return stack[opTop];
+			return read(opTop);
 		} finally {
 			opTop--;
 		}
 	}
 
+	public StackFrame pushInt(final int val) {
+		opTop++;
+		writeInt(opTop, val);
+		return this;
+	}
+
+	public int popInt() {
+		try {
+			return readInt(opTop);
+		} finally {
+			opTop--;
+		}
+	}
+
+	/**
+	 * Push a copy of the top of the operand stack
+	 */
+	public StackFrame dup() {
+		move(opTop, opTop + 1);
+		opTop++;
+		return this;
+	}
+
+	/**
+	 * Push the value of a local variable
+	 */
+	public StackFrame load(final int var) {
+		opTop++;
+		move(vars + var, opTop);
+		return this;
+	}
+
+	/**
+	 * Pop the top of the operand stack into a local variable
+	 */
+	public StackFrame store(final int var) {
+		move(opTop, vars + var);
+		opTop--;
+		return this;
+	}
+
 	public InstructionNode instruction() {
 		return instruction;
 	}
@@ -57,20 +110,48 @@ public final class StackFrame {
 
 	public StackFrame pushAll(final Object[] args) {
 		System.arraycopy(args, 0, stack, opTop + 1, args.length);
+		clearTags(opTop + 1, args.length);
 		opTop += args.length;
 		return this;
 	}
 
 	public Object local(final int var) {
-		return stack[vars + var];
+		return read(vars + var);
 	}
 
    public void local(final int var, final Object val) {
-      stack[vars + var] = val;
+      write(vars + var, val);
    }
 
+	public int localInt(final int var) {
+		return readInt(vars + var);
+	}
+
+	public void localInt(final int var, final int val) {
+		writeInt(vars + var, val);
+	}
+
 	public StackFrame setLocals(final Object[] args) {
 		System.arraycopy(args, 0, stack, vars, args.length);
+		clearTags(vars, args.length);
+		return this;
+	}
+
+	// moves the top argCount operands into the first locals of the callee
+	public StackFrame popArgs(final StackFrame callee, final int argCount) {
+		opTop -= argCount;
+		for (int i = 0; i < argCount; i++) {
+			copyTo(opTop + 1 + i, callee, callee.vars + i);
+		}
+		return this;
+	}
+
+	// copies the top returnCount operands onto the operand stack of the caller, leaving this frame as it is
+	public StackFrame pushResults(final StackFrame caller, final int returnCount) {
+		for (int i = 0; i < returnCount; i++) {
+			caller.opTop++;
+			copyTo(opTop + 1 - returnCount + i, caller, caller.opTop);
+		}
 		return this;
 	}
 
@@ -82,16 +163,80 @@ public final class StackFrame {
 
 	public Object[] peek(final int argCount) {
 		final Object[] result = new Object[argCount];
-		System.arraycopy(stack, opTop + 1 - argCount, result, 0, argCount);
+		for (int i = 0; i < argCount; i++) {
+			result[i] = read(opTop + 1 - argCount + i);
+		}
 		return result;
 	}
 
 	public Object peek() {
-		return stack[opTop];
+		return read(opTop);
+	}
+
+	// the operand depth slots below the top of the stack
+	public Object peekAt(final int depth) {
+		return read(opTop - depth);
+	}
+
+	// true if the operand depth slots below the top of the stack is a concrete int
+	public boolean isIntAt(final int depth) {
+		final int slot = opTop - depth;
+		return isInt(slot) || stack[slot] instanceof Integer;
 	}
 
 	public StackFrame snapshot() {
-		return new StackFrame(instruction, copyOf(stack, stack.length), opBot, opTop);
+		return new StackFrame(
+		      instruction,
+		      copyOf(stack, stack.length),
+		      copyOf(prims, prims.length),
+		      copyOf(tags, tags.length),
+		      opBot,
+		      opTop);
+	}
+
+	private boolean isInt(final int slot) {
+		return (tags[slot >>> 6] & 1L << slot) != 0;
+	}
+
+	private Object read(final int slot) {
+		return isInt(slot) ? Integer.valueOf((int) prims[slot]) : stack[slot];
+	}
+
+	private int readInt(final int slot) {
+		return isInt(slot) ? (int) prims[slot] : (int) stack[slot];
+	}
+
+	private void write(final int slot, final Object val) {
+		tags[slot >>> 6] &= ~(1L << slot);
+		stack[slot] = val;
+	}
+
+	private void writeInt(final int slot, final int val) {
+		tags[slot >>> 6] |= 1L << slot;
+		prims[slot] = val;
+		stack[slot] = null;
+	}
+
+	private void move(final int from, final int to) {
+		if(isInt(from)) {
+			writeInt(to, (int) prims[from]);
+		} else {
+			write(to, stack[from]);
+		}
+	}
+
+	private void copyTo(final int from, final StackFrame other, final int to) {
+		if(isInt(from)) {
+			other.writeInt(to, (int) prims[from]);
+		} else {
+			other.write(to, stack[from]);
+		}
+	}
+
+	private void clearTags(final int from, final int count) {
+		for (int slot = from; slot < from + count; slot++) {
+			tags[slot >>> 6] &= ~(1L << slot);
+		}
 	}
 
 	@Override
@@ -108,7 +253,7 @@ public final class StackFrame {
       String separator = "";
       for (int i = start; i <= end; i++) {
 			stackString.append(separator);
-			stackString.append(stack[i]);
+			stackString.append(read(i));
 			separator = ", ";
 		}
    }
@@ -9,7 +9,7 @@ public interface State extends Snapshotable<State>{
    <T> T op(StackOp<T> op);
    State op(StackVop op);
 
-   void advance(Vm vm);
+   void advance(Explorer explorer);
 
    Object getMeta();
 }
\ No newline at end of file
@@ -37,19 +37,13 @@ public class StateImpl implements State {
 
 	@Override
    public State op(final StackVop op) {
-		op(new StackOp<Void>() {
-			@Override
-			public Void eval(final Stack stack) {
-				op.eval(stack, statics);
-				return null;
-			}
-		});
+		op.eval(stack, statics);
 		return this;
 	}
 
 	@Override
-   public void advance(final Vm vm) {
-		stack.instruction().eval(vm, this);
+   public void advance(final Explorer explorer) {
+		stack.instruction().eval(explorer, this);
 	}
 
 	@Override
@@ -9,6 +9,7 @@ import com.lexicalscope.symb.vm.classloader.SMethodName;
 
 public interface Statics extends Snapshotable<Statics> {
    SClass load(String klassName);
+   SClass load(int klassId);
 
    SMethod loadMethod(String owner, String name, String desc);
    SMethod loadMethod(SMethodName sMethodName);
@@ -18,4 +19,10 @@ public interface Statics extends Snapshotable<Statics> {
    Object whereMyStaticsAt(SClass klass);
 
    boolean isDefined(String klass);
+   boolean isDefined(int klassId);
+
+   /**
+    * @see com.lexicalscope.symb.vm.classloader.SClassLoader#classId(String)
+    */
+   int classId(String klassName);
 }
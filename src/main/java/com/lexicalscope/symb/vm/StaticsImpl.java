@@ -1,10 +1,9 @@
 package com.lexicalscope.symb.vm;
 
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
 
+import com.lexicalscope.heap.IntTrie;
 import com.lexicalscope.symb.vm.classloader.ClassLoaded;
 import com.lexicalscope.symb.vm.classloader.SClass;
 import com.lexicalscope.symb.vm.classloader.SClassLoader;
@@ -12,36 +11,36 @@ import com.lexicalscope.symb.vm.classloader.SMethod;
 import com.lexicalscope.symb.vm.classloader.SMethodName;
 
 public class StaticsImpl implements Statics {
-   // TODO[tim]: need fast-clone version
-   private final Map<String, SClass> defined;
-   private final Map<SClass, Object> staticsAddresses;
+   // indexed by class id, snapshots share them until written
+   private final IntTrie<SClass> defined;
+   private final IntTrie<Object> staticsAddresses;
 
    private final SClassLoader classLoader;
 
    public StaticsImpl(final SClassLoader classLoader) {
-      this(classLoader, new HashMap<String, SClass>(), new HashMap<SClass, Object>());
+      this(classLoader, new IntTrie<SClass>(), new IntTrie<Object>());
    }
 
-   private StaticsImpl(final SClassLoader classLoader, final Map<String, SClass> defined, final Map<SClass, Object> staticsAddresses) {
+   private StaticsImpl(final SClassLoader classLoader, final IntTrie<SClass> defined, final IntTrie<Object> staticsAddresses) {
       this.defined = defined;
       this.classLoader = classLoader;
       this.staticsAddresses = staticsAddresses;
    }
 
    @Override public Statics snapshot() {
-      return new StaticsImpl(classLoader, new HashMap<>(defined), new HashMap<>(staticsAddresses));
+      return new StaticsImpl(classLoader, defined.copy(), staticsAddresses.copy());
    }
 
    @Override public List<SClass> defineClass(final String klassName) {
       if(isDefined(klassName)) {
-         throw new DuplicateClassDefinitionException(defined.get(klassName));
+         throw new DuplicateClassDefinitionException(load(klassName));
       }
 
       final List<SClass> result = new ArrayList<>();
       classLoader.load(klassName, new ClassLoaded(){
          @Override public void loaded(final SClass klass) {
-            if(!defined.containsKey(klass.name())) {
-               defined.put(klass.name(), klass);
+            if(defined.get(klass.id()) == null) {
+               defined.put(klass.id(), klass);
                result.add(klass);
             }
          }});
@@ -49,21 +48,31 @@ public class StaticsImpl implements Statics {
       return result;
    }
 
+   @Override public int classId(final String klassName) {
+      return classLoader.classId(klassName);
+   }
+
    @Override public boolean isDefined(final String klass) {
-      return defined.containsKey(klass);
+      return isDefined(classId(klass));
+   }
+
+   @Override public boolean isDefined(final int klassId) {
+      return defined.get(klassId) != null;
    }
 
    @Override public SClass load(final String klassName) {
-      if(!isDefined(klassName)) {
-         throw new MissingClassDefinitionException(klassName);
+      return load(classId(klassName));
+   }
+
+   @Override public SClass load(final int klassId) {
+      final SClass klass = defined.get(klassId);
+      if(klass == null) {
+         throw new MissingClassDefinitionException(classLoader.className(klassId));
       }
-      return defined.get(klassName);
+      return klass;
    }
 
    @Override public SMethod loadMethod(final String klassName, final String name, final String desc) {
-      if(!isDefined(klassName)) {
-         throw new MissingClassDefinitionException(klassName);
-      }
       return load(klassName).staticMethod(name, desc);
    }
 
@@ -72,12 +81,12 @@ public class StaticsImpl implements Statics {
    }
 
    @Override public void staticsAt(final SClass klass, final Object staticsAddress) {
-      assert !staticsAddresses.containsKey(klass);
-      staticsAddresses.put(klass, staticsAddress);
+      assert staticsAddresses.get(klass.id()) == null;
+      staticsAddresses.put(klass.id(), staticsAddress);
    }
 
    @Override public Object whereMyStaticsAt(final SClass klass) {
-      final Object address = staticsAddresses.get(klass);
+      final Object address = staticsAddresses.get(klass.id());
       if(address == null) throw new IllegalStateException("no statics for " + klass);
       return address;
    }
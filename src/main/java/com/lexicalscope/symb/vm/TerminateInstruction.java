@@ -3,7 +3,7 @@ package com.lexicalscope.symb.vm;
 import com.lexicalscope.symb.vm.instructions.TerminationException;
 
 public class TerminateInstruction implements InstructionNode {
-   @Override public void eval(final Vm vm, final StateImpl state) {
+   @Override public void eval(final Explorer explorer, final StateImpl state) {
       throw new TerminationException(state);
    }
 
@@ -23,6 +23,10 @@ public class TerminateInstruction implements InstructionNode {
       throw new UnsupportedOperationException();
    }
 
+   @Override public boolean covered() {
+      return true;
+   }
+
    @Override
    public boolean equals(final Object obj) {
       return obj != null && obj.getClass().equals(this.getClass());
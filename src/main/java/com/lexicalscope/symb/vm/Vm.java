@@ -15,24 +15,44 @@ import com.lexicalscope.symb.vm.classloader.SClassLoader;
 import com.lexicalscope.symb.vm.concinstructions.ConcInstructionFactory;
 import com.lexicalscope.symb.vm.instructions.InstructionFactory;
 import com.lexicalscope.symb.vm.instructions.TerminationException;
+import com.lexicalscope.symb.vm.search.DepthFirstSearch;
+import com.lexicalscope.symb.vm.search.SearchStrategy;
+import com.lexicalscope.symb.vm.trace.ExecutionListener;
+import com.lexicalscope.symb.vm.trace.NullExecutionListener;
 
-public class Vm {
-   private final Deque<State> pending = new ArrayDeque<>();
+public class Vm implements Explorer {
+   private final SearchStrategy searchStrategy;
    private final Deque<State> finished = new ArrayDeque<>();
+   private State current;
+   private ExecutionListener listener = new NullExecutionListener();
 
    public Vm(final State state) {
-      pending.push(state);
+      this(state, new DepthFirstSearch());
+   }
+
+   public Vm(final State state, final SearchStrategy searchStrategy) {
+      this.searchStrategy = searchStrategy;
+      searchStrategy.pending(state);
+   }
+
+   /**
+    * There is no listener by default.
+    */
+   public void executionListener(final ExecutionListener listener) {
+      this.listener = listener;
    }
 
    public State execute() {
-      while (!pending.isEmpty()) {
+      current = searchStrategy.next();
+      while (current != null) {
          try {
-            System.out.println(pending.peek());
-            pending.peek().advance(this);
+            listener.instruction(current);
+            current.advance(this);
          } catch (final TerminationException termination) {
-            assert pending.peek() == termination.getFinalState();
-            finished.push(pending.pop());
-            System.out.println("BACKTRACK");
+            assert current == termination.getFinalState();
+            finished.push(current);
+            listener.backtrack(current);
+            current = searchStrategy.next();
          }
       }
       return result();
@@ -42,12 +62,12 @@ public class Vm {
       return finished.peek();
    }
 
-   public void fork(final State[] states) {
-      pending.pop();
-      System.out.println("FORK");
+   @Override public void fork(final State[] states) {
+      listener.fork(states);
       for (final State state : states) {
-         pending.push(state);
+         searchStrategy.pending(state);
       }
+      current = searchStrategy.next();
    }
 
    public Collection<State> results() {
@@ -59,8 +79,16 @@ public class Vm {
    }
 
    public static Vm vm(final InstructionFactory instructionFactory, final MethodInfo entryPoint, final Object ... args) {
+      return vm(new DepthFirstSearch(), instructionFactory, entryPoint, args);
+   }
+
+   public static Vm vm(final SearchStrategy searchStrategy, final InstructionFactory instructionFactory, final MethodInfo entryPoint, final Object ... args) {
+      return new Vm(initialState(instructionFactory, entryPoint, args), searchStrategy);
+   }
+
+   static State initialState(final InstructionFactory instructionFactory, final MethodInfo entryPoint, final Object ... args) {
       final SClassLoader classLoader = new AsmSClassLoader(instructionFactory);
-      return new Vm(Vm.initial(classLoader, entryPoint).op(loadConstants(args)));
+      return Vm.initial(classLoader, entryPoint).op(loadConstants(args));
    }
 
    public static State initial(final SClassLoader classLoader, final MethodInfo info) {
@@ -2,6 +2,11 @@ package com.lexicalscope.symb.vm.classloader;
 
 import static org.objectweb.asm.Type.getInternalName;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
 import com.lexicalscope.symb.vm.InstructionInternalNode;
 import com.lexicalscope.symb.vm.InstructionNode;
 import com.lexicalscope.symb.vm.Snapshotable;
@@ -14,10 +19,19 @@ public class AsmSClassLoader implements SClassLoader {
    private final Instructions instructions;
    private final InstructionFactory instructionFactory;
    private final ByteCodeReader byteCodeReader;
+   private final Map<String, Integer> classIds = new HashMap<>();
+   private final List<String> classNames = new ArrayList<>();
 
    public AsmSClassLoader(final InstructionFactory instructionFactory) {
+      this(instructionFactory, true);
+   }
+
+   /**
+    * @param superInstructions fuse runs of instructions when methods are linked
+    */
+   public AsmSClassLoader(final InstructionFactory instructionFactory, final boolean superInstructions) {
       this.instructionFactory = instructionFactory;
-      this.instructions = new BaseInstructions(instructionFactory);
+      this.instructions = new BaseInstructions(instructionFactory, superInstructions);
       this.byteCodeReader = new CachingByteCodeReader(instructions);
    }
 
@@ -40,6 +54,24 @@ public class AsmSClassLoader implements SClassLoader {
       return load(klass, new NullClassLoaded());
    }
 
+   @Override public int classId(final String name) {
+      synchronized (classIds) {
+         Integer id = classIds.get(name);
+         if(id == null) {
+            id = classNames.size();
+            classIds.put(name, id);
+            classNames.add(name);
+         }
+         return id;
+      }
+   }
+
+   @Override public String className(final int classId) {
+      synchronized (classIds) {
+         return classNames.get(classId);
+      }
+   }
+
    public Object load(final String string) {
       return load(string, new NullClassLoaded());
    }
@@ -61,6 +93,8 @@ public class AsmSClassLoader implements SClassLoader {
          return instructions.statements().maxStack(1).newObject("java/lang/Class").return1().build();
       } else if (methodName.equals(new SMethodName("java/lang/System", "identityHashCode", "(Ljava/lang/Object;)I"))) {
          return instructions.statements().maxStack(1).maxLocals(1).aload(0).addressToHashCode().return1().build();
+      } else if (methodName.equals(new SMethodName("java/lang/System", "arraycopy", "(Ljava/lang/Object;ILjava/lang/Object;II)V"))) {
+         return instructions.statements().maxLocals(5).arrayCopy().returnVoid().build();
       } else if (methodName.equals(new SMethodName("java/lang/System", "nanoTime", "()J"))) {
          return instructions.statements().maxStack(1).nanoTime().return1().build();
       } else if (methodName.equals(new SMethodName("java/lang/System", "currentTimeMillis", "()J"))) {
@@ -15,7 +15,7 @@ public class CachingByteCodeReader implements ByteCodeReader {
    }
 
    @Override
-   public SClass load(final SClassLoader classLoader, final String name, final ClassLoaded classLoaded) {
+   public synchronized SClass load(final SClassLoader classLoader, final String name, final ClassLoaded classLoaded) {
       assert name != null;
       SClass result = classCache.get(name);
       if(result == null) {
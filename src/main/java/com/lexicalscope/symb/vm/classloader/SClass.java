@@ -1,8 +1,12 @@
 package com.lexicalscope.symb.vm.classloader;
 
 import java.net.URL;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.TreeMap;
 
@@ -24,6 +28,9 @@ public final class SClass implements Allocatable {
    private final TreeMap<SFieldName, Integer> fieldMap;
    private final TreeMap<SFieldName, Integer> staticFieldMap;
    private final TreeMap<SMethodName, SMethod> methodMap;
+   // SMethodName equality ignores the class, so overrides share their slot
+   private final Map<SMethodName, Integer> vtableIndex;
+   private final SMethod[] vtable;
 
    private final URL loadedFromUrl;
    private final ClassNode classNode;
@@ -32,6 +39,7 @@ public final class SClass implements Allocatable {
    private final int subclassOffset;
    private final SClass superclass;
    private final SClassLoader classLoader;
+   private final int id;
 
    // TODO[tim]: far too much work in this constructor
    public SClass(
@@ -46,11 +54,13 @@ public final class SClass implements Allocatable {
       this.loadedFromUrl = loadedFromUrl;
       this.classNode = classNode;
       this.superclass = superclass;
+      this.id = classLoader.classId(classNode.name);
 
       this.classStartOffset = superclass == null ? 0 : superclass.subclassOffset;
       this.staticFieldMap = new TreeMap<>();
       this.fieldMap = new TreeMap<>();
       this.methodMap = new TreeMap<>();
+      this.vtableIndex = new HashMap<>();
 
       superTypes.add(this);
 
@@ -65,16 +75,38 @@ public final class SClass implements Allocatable {
 
       initialiseFieldMaps();
       initialiseMethodMap();
+      this.vtable = initialiseVtable();
       subclassOffset = fieldMap.size();
    }
 
    private void initialiseMethodMap() {
       for (final MethodNode method : methods()) {
          final SMethodName methodName = new SMethodName(classNode.name, method.name, method.desc);
-         methodMap.put(methodName, new SMethod(classLoader, methodName, instructions, method));
+         methodMap.put(methodName, new SMethod(classLoader, this, methodName, instructions, method));
       }
    }
 
+   private SMethod[] initialiseVtable() {
+      final List<SMethod> result = new ArrayList<>();
+      if (superclass != null) {
+         result.addAll(Arrays.asList(superclass.vtable));
+         vtableIndex.putAll(superclass.vtableIndex);
+      }
+
+      for (final Map.Entry<SMethodName, SMethod> method : methodMap.entrySet()) {
+         if (!method.getValue().isVirtual()) continue;
+
+         final Integer index = vtableIndex.get(method.getKey());
+         if (index == null) {
+            vtableIndex.put(method.getKey(), result.size());
+            result.add(method.getValue());
+         } else {
+            result.set(index, method.getValue());
+         }
+      }
+      return result.toArray(new SMethod[result.size()]);
+   }
+
    private void initialiseFieldMaps() {
       final List<?> fields = classNode.fields;
       int staticOffset = 0;
@@ -96,6 +128,13 @@ public final class SClass implements Allocatable {
       return classNode.methods;
    }
 
+   /**
+    * @return the dense id the class loader gave this class
+    */
+   public int id() {
+      return id;
+   }
+
    public SMethod staticMethod(final String name, final String desc) {
       final SMethod result = methodMap.get(new SMethodName(classNode.name, name, desc));
       if (result == null) {
@@ -104,6 +143,21 @@ public final class SClass implements Allocatable {
       return result;
    }
 
+   /**
+    * @return the slot that this class, and all of its subclasses, dispatch the method through
+    */
+   public int vtableIndex(final String name, final String desc) {
+      final Integer result = vtableIndex.get(new SMethodName(classNode.name, name, desc));
+      if (result == null) {
+         throw new SMethodNotFoundException(name, desc);
+      }
+      return result;
+   }
+
+   public SMethod virtualMethod(final int vtableIndex) {
+      return vtable[vtableIndex];
+   }
+
    public boolean hasStaticInitialiser() {
       return methodMap.containsKey(new SMethodName(classNode.name, JavaConstants.CLINIT, JavaConstants.NOARGS_VOID_DESC));
    }
@@ -136,7 +190,7 @@ public final class SClass implements Allocatable {
       return classNode.name;
    }
 
-   public Object superclass() {
+   public SClass superclass() {
       return superclass;
    }
 
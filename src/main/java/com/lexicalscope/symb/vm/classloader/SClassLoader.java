@@ -17,6 +17,15 @@ public interface SClassLoader {
    SClass load(Class<?> klass, ClassLoaded classLoaded);
    SClass load(Class<?> klass);
 
+   /**
+    * Class ids are dense, starting from 0, and are handed out the first time
+    * a name is asked about. The class need not have been loaded.
+    *
+    * @return the id of the named class
+    */
+   int classId(String name);
+   String className(int classId);
+
    Snapshotable<?> initialMeta();
 
    MethodBody resolveNative(SMethodName methodName);
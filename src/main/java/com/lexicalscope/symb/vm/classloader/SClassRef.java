@@ -0,0 +1,43 @@
+package com.lexicalscope.symb.vm.classloader;
+
+import com.lexicalscope.symb.vm.Statics;
+
+/**
+ * A class named by an instruction. The name is turned into a class id the
+ * first time the instruction runs, so later lookups index the statics
+ * directly rather than hashing the name.
+ */
+public final class SClassRef {
+   private static final int UNRESOLVED = -1;
+
+   private final String klassName;
+   private int klassId = UNRESOLVED;
+
+   public SClassRef(final String klassName) {
+      this.klassName = klassName;
+   }
+
+   public String name() {
+      return klassName;
+   }
+
+   // ids are the same for every state, so a racing resolution writes the same value
+   public int id(final Statics statics) {
+      if(klassId == UNRESOLVED) {
+         klassId = statics.classId(klassName);
+      }
+      return klassId;
+   }
+
+   public boolean isDefined(final Statics statics) {
+      return statics.isDefined(id(statics));
+   }
+
+   public SClass load(final Statics statics) {
+      return statics.load(id(statics));
+   }
+
+   @Override public String toString() {
+      return klassName;
+   }
+}
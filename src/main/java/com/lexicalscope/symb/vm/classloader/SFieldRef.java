@@ -0,0 +1,66 @@
+package com.lexicalscope.symb.vm.classloader;
+
+import com.lexicalscope.symb.vm.Statics;
+
+/**
+ * A field named by an instruction. The field is resolved to the class that
+ * declares it, and to its offset, once: either when the method using it is
+ * linked, if the owner is the method's own class, or else the first time the
+ * instruction runs, by which point the owner has been defined.
+ */
+public final class SFieldRef {
+   private final SClassRef owner;
+   private final String fieldName;
+   private final boolean isStatic;
+
+   // the offset is written before the declaring class, which publishes it
+   private int offset;
+   private volatile SClass declaringClass;
+
+   public SFieldRef(final String owner, final String fieldName, final boolean isStatic) {
+      this.owner = new SClassRef(owner);
+      this.fieldName = fieldName;
+      this.isStatic = isStatic;
+   }
+
+   public void link(final SClass klass) {
+      if(declaringClass == null && klass.name().equals(owner.name())) {
+         resolve(klass);
+      }
+   }
+
+   public int offset(final Statics statics) {
+      if(declaringClass == null) {
+         resolve(owner.load(statics));
+      }
+      return offset;
+   }
+
+   public SClass declaringClass(final Statics statics) {
+      if(declaringClass == null) {
+         resolve(owner.load(statics));
+      }
+      return declaringClass;
+   }
+
+   // fields may be declared by any superclass of the owner
+   private void resolve(final SClass ownerClass) {
+      for (SClass klass = ownerClass; klass != null; klass = klass.superclass()) {
+         final SFieldName name = new SFieldName(klass.name(), fieldName);
+         if(isStatic && klass.hasStaticField(name)) {
+            offset = klass.staticFieldIndex(name);
+            declaringClass = klass;
+            return;
+         } else if(!isStatic && ownerClass.hasField(name)) {
+            offset = ownerClass.fieldIndex(name);
+            declaringClass = klass;
+            return;
+         }
+      }
+      throw new IllegalStateException("unable to resolve field " + owner + "." + fieldName);
+   }
+
+   @Override public String toString() {
+      return owner + "." + fieldName;
+   }
+}
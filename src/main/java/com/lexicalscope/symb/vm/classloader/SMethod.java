@@ -15,28 +15,42 @@ import org.objectweb.asm.tree.MethodNode;
 import com.lexicalscope.symb.vm.Instruction;
 import com.lexicalscope.symb.vm.InstructionInternalNode;
 import com.lexicalscope.symb.vm.InstructionNode;
+import com.lexicalscope.symb.vm.Linkable;
 import com.lexicalscope.symb.vm.instructions.Instructions;
 import com.lexicalscope.symb.vm.instructions.Instructions.InstructionSink;
+import com.lexicalscope.symb.vm.jit.CompiledMethod;
 
 public class SMethod {
+   private static final int COMPILE_THRESHOLD = 100;
+
    private final SClassLoader classLoader;
+   private final SClass klass;
    private final SMethodName methodName;
 	private final MethodNode method;
 	private final Instructions instructions;
+	private final int argSize;
 
-   private InstructionNode entryPoint;
+   // written last when linking, so a non-null entry point means the method is fully linked
+   private volatile InstructionNode entryPoint;
    private int maxLocals;
    private int maxStack;
 
+   // counts calls until the method is hot, the count is only a heuristic so races do not matter
+   private int invocations;
+   private volatile CompiledMethod compiled;
+
 	public SMethod(
 	      final SClassLoader classLoader,
+	      final SClass klass,
 	      final SMethodName methodName,
 	      final Instructions instructions,
 	      final MethodNode method) {
 		this.classLoader = classLoader;
+		this.klass = klass;
       this.methodName = methodName;
       this.instructions = instructions;
 		this.method = method;
+		this.argSize = Type.getArgumentsAndReturnSizes(method.desc) >> 2;
 	}
 
 	public int maxLocals() {
@@ -49,6 +63,18 @@ public class SMethod {
 		return maxStack;
 	}
 
+	/**
+	 * Counts a call of the method, and compiles it once it is hot.
+	 *
+	 * @return the compiled method, or null if the method should be interpreted
+	 */
+	public CompiledMethod compiled() {
+	   if(invocations < COMPILE_THRESHOLD && ++invocations == COMPILE_THRESHOLD) {
+	      compiled = instructions.compile(klass, method);
+	   }
+	   return compiled;
+	}
+
 	public InstructionNode entry() {
 	   link();
 		return entryPoint;
@@ -57,10 +83,14 @@ public class SMethod {
 	private void link() {
 	   if(entryPoint != null) return;
 
-	   if((method.access & Opcodes.ACC_NATIVE) != 0) {
-	      linkNativeMethod();
-	   } else {
-	      linkJavaMethod();
+	   synchronized (this) {
+	      if(entryPoint != null) return;
+
+	      if((method.access & Opcodes.ACC_NATIVE) != 0) {
+	         linkNativeMethod();
+	      } else {
+	         linkJavaMethod();
+	      }
 	   }
    }
 
@@ -77,8 +107,11 @@ public class SMethod {
 	   final Map<AbstractInsnNode, InstructionNode> linked = new LinkedHashMap<>();
 	   final InstructionNode[] prev = new InstructionNode[1];
 
-	   final InstructionSink instructionSink = new InstructionSink() {
+	   final InstructionSink instructionSink = instructions.superInstructions(method, new InstructionSink() {
          @Override public void nextInstruction(final AbstractInsnNode asmInstruction, final Instruction instruction) {
+            // resolve what we can now, anything else is resolved when first executed
+            if(instruction instanceof Linkable) ((Linkable) instruction).link(klass);
+
             final InstructionNode node = new InstructionInternalNode(instruction);
             for (final AbstractInsnNode unlinkedInstruction : unlinked) {
                linked.put(unlinkedInstruction, node);
@@ -92,7 +125,7 @@ public class SMethod {
          @Override public void noInstruction(final AbstractInsnNode abstractInsnNode) {
             unlinked.add(abstractInsnNode);
          }
-	   };
+	   });
 
 	   AbstractInsnNode asmInstruction = getEntryPoint();
 	   while(asmInstruction != null) {
@@ -123,6 +156,13 @@ public class SMethod {
    }
 
    public int argSize() {
-		return Type.getMethodType(method.desc).getArgumentsAndReturnSizes() >> 2;
+		return argSize;
+	}
+
+	/**
+	 * @return true if calls to this method are dispatched on the receiver's class
+	 */
+	public boolean isVirtual() {
+	   return (method.access & (Opcodes.ACC_STATIC | Opcodes.ACC_PRIVATE)) == 0 && !method.name.startsWith("<");
 	}
 }
@@ -2,25 +2,27 @@ package com.lexicalscope.symb.vm.concinstructions;
 
 import org.objectweb.asm.tree.JumpInsnNode;
 
+import com.lexicalscope.symb.vm.Explorer;
 import com.lexicalscope.symb.vm.Instruction;
 import com.lexicalscope.symb.vm.InstructionNode;
 import com.lexicalscope.symb.vm.State;
-import com.lexicalscope.symb.vm.Vm;
 import com.lexicalscope.symb.vm.concinstructions.ops.BranchOp;
 
 final class BranchInstruction implements Instruction {
 	private final BranchPredicate branchPredicate;
 	private final JumpInsnNode jumpInsnNode;
+	private final BranchOp branchOp;
 
 	BranchInstruction(final BranchPredicate branchPredicate,
 			final JumpInsnNode jumpInsnNode) {
 		this.branchPredicate = branchPredicate;
 		this.jumpInsnNode = jumpInsnNode;
+		this.branchOp = new BranchOp(branchPredicate);
 	}
 
 	@Override
-	public void eval(final Vm vm, final State state, final InstructionNode instruction) {
-		state.op(new BranchOp(instruction, branchPredicate));
+	public void eval(final Explorer explorer, final State state, final InstructionNode instruction) {
+		state.op(branchOp);
 	}
 
 	@Override
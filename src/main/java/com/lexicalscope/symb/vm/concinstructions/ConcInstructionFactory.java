@@ -1,10 +1,12 @@
 package com.lexicalscope.symb.vm.concinstructions;
 
 import org.objectweb.asm.tree.JumpInsnNode;
+import org.objectweb.asm.tree.MethodNode;
 
 import com.lexicalscope.symb.vm.Instruction;
 import com.lexicalscope.symb.vm.Snapshotable;
 import com.lexicalscope.symb.vm.Vop;
+import com.lexicalscope.symb.vm.classloader.SClass;
 import com.lexicalscope.symb.vm.concinstructions.ops.FConstOperator;
 import com.lexicalscope.symb.vm.concinstructions.ops.IAddOp;
 import com.lexicalscope.symb.vm.concinstructions.ops.IConstOperator;
@@ -28,8 +30,12 @@ import com.lexicalscope.symb.vm.concinstructions.predicates.Unconditional;
 import com.lexicalscope.symb.vm.instructions.InstructionFactory;
 import com.lexicalscope.symb.vm.instructions.ops.BinaryOperator;
 import com.lexicalscope.symb.vm.instructions.ops.NullaryOperator;
+import com.lexicalscope.symb.vm.jit.CompiledMethod;
+import com.lexicalscope.symb.vm.jit.MethodCompiler;
 
 public class ConcInstructionFactory implements InstructionFactory {
+   private final MethodCompiler methodCompiler = new MethodCompiler();
+
 	@Override public BinaryOperator iaddOperation() {
 		return new IAddOp();
 	}
@@ -127,4 +133,8 @@ public class ConcInstructionFactory implements InstructionFactory {
    public Snapshotable<?> initialMeta() {
       return null;
    }
+
+   @Override public CompiledMethod compile(final SClass klass, final MethodNode method) {
+      return methodCompiler.compile(klass, method);
+   }
 }
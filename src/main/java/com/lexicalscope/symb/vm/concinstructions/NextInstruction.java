@@ -1,20 +1,13 @@
 package com.lexicalscope.symb.vm.concinstructions;
 
-import com.lexicalscope.symb.vm.Heap;
-import com.lexicalscope.symb.vm.Stack;
-import com.lexicalscope.symb.vm.State;
-import com.lexicalscope.symb.vm.Statics;
-import com.lexicalscope.symb.vm.Vop;
+import static com.lexicalscope.symb.vm.instructions.ops.Ops.nextInstruction;
+
 import com.lexicalscope.symb.vm.InstructionNode;
-import com.lexicalscope.symb.vm.StackFrame;
+import com.lexicalscope.symb.vm.State;
 
 public class NextInstruction implements Transistion {
    @Override
    public void next(final State state, final InstructionNode instruction) {
-      state.op(new Vop() {
-         @Override public void eval(final StackFrame stackFrame, Stack stack, final Heap heap, Statics statics) {
-            stackFrame.advance(instruction.next());
-         }
-      });
+      state.op(nextInstruction());
    }
 }
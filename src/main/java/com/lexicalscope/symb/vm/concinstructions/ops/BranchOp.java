@@ -10,16 +10,14 @@ import com.lexicalscope.symb.vm.concinstructions.BranchPredicate;
 
 public final class BranchOp implements Vop {
 	private final BranchPredicate branchPredicate;
-   private final InstructionNode instruction;
 
-	public BranchOp(
-	      final InstructionNode instruction,
-			final BranchPredicate branchPredicate) {
-      this.instruction = instruction;
+	public BranchOp(final BranchPredicate branchPredicate) {
 		this.branchPredicate = branchPredicate;
 	}
 
    @Override public void eval(final StackFrame stackFrame, final Stack stack, final Heap heap, final Statics statics) {
+      // the frame is still at the branch
+      final InstructionNode instruction = stackFrame.instruction();
       final InstructionNode next;
       if(branchPredicate.eval(stackFrame, stack, heap, statics)) {
          next = instruction.jmpTarget();
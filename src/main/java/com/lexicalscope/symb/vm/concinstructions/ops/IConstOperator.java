@@ -3,7 +3,8 @@ package com.lexicalscope.symb.vm.concinstructions.ops;
 import com.lexicalscope.symb.vm.instructions.ops.NullaryOperator;
 
 public class IConstOperator implements NullaryOperator {
-	private final int val;
+	// boxed once, so pushing the constant does not allocate
+	private final Integer val;
 
    public IConstOperator(final int val) {
       this.val = val;
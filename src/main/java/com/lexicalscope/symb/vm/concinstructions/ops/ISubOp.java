@@ -1,11 +1,16 @@
 package com.lexicalscope.symb.vm.concinstructions.ops;
 
-import com.lexicalscope.symb.vm.instructions.ops.BinaryOperator;
+import com.lexicalscope.symb.vm.instructions.ops.IntBinaryOperator;
 
-public class ISubOp implements BinaryOperator {
+public class ISubOp implements IntBinaryOperator {
 	@Override
 	public Object eval(final Object left, final Object right) {
-		return (int) left - (int) right;
+		return evalInt((int) left, (int) right);
+	}
+
+	@Override
+	public int evalInt(final int left, final int right) {
+		return left - right;
 	}
 
 	@Override
@@ -4,41 +4,48 @@ import static com.lexicalscope.symb.vm.JavaConstants.STRING_CLASS;
 import static org.objectweb.asm.Type.getInternalName;
 
 import com.lexicalscope.symb.vm.Heap;
+import com.lexicalscope.symb.vm.HeapCursor;
 import com.lexicalscope.symb.vm.Stack;
 import com.lexicalscope.symb.vm.StackFrame;
 import com.lexicalscope.symb.vm.Statics;
 import com.lexicalscope.symb.vm.Vop;
 import com.lexicalscope.symb.vm.classloader.SClass;
+import com.lexicalscope.symb.vm.classloader.SClassRef;
 import com.lexicalscope.symb.vm.classloader.SFieldName;
 import com.lexicalscope.symb.vm.instructions.ops.NewArrayOp;
 import com.lexicalscope.symb.vm.instructions.ops.NewOp;
 
 public final class StringPoolLoadOperator implements Vop {
    private final String val;
+   private final SClassRef stringClassRef = new SClassRef(STRING_CLASS);
+   private final SFieldName valueField = new SFieldName(STRING_CLASS, "value");
+   private final NewOp newString = new NewOp(getInternalName(String.class));
+   private final NewArrayOp newCharArray = new NewArrayOp();
 
    public StringPoolLoadOperator(final String val) {
       this.val = val;
    }
 
    @Override public void eval(final StackFrame stackFrame, final Stack stack, final Heap heap, final Statics statics) {
-      final SClass stringClass = statics.load(STRING_CLASS);
+      final SClass stringClass = stringClassRef.load(statics);
 
       // create new string
-      new NewOp(getInternalName(String.class)).eval(stackFrame, stack, heap, statics);
+      newString.eval(stackFrame, stack, heap, statics);
       final Object stringAddress = stackFrame.pop();
 
       // create char array
       final char[] chars = val.toCharArray();
 
       stackFrame.push(chars.length);
-      new NewArrayOp().eval(stackFrame, stack, heap, statics);
+      newCharArray.eval(stackFrame, stack, heap, statics);
       final Object valueAddress = stackFrame.pop();
 
+      final HeapCursor cursor = heap.cursor(valueAddress, NewArrayOp.ARRAY_PREAMBLE);
       for (int i = 0; i < chars.length; i++) {
-         heap.put(valueAddress, NewArrayOp.ARRAY_PREAMBLE + i, chars[i]);
+         cursor.writeInt(chars[i]);
       }
 
-      heap.put(stringAddress, stringClass.fieldIndex(new SFieldName(STRING_CLASS, "value")), valueAddress);
+      heap.put(stringAddress, stringClass.fieldIndex(valueField), valueAddress);
       stackFrame.push(stringAddress);
    }
 
@@ -8,8 +8,8 @@ import com.lexicalscope.symb.vm.concinstructions.BranchPredicate;
 
 public class ICmpLt implements BranchPredicate {
    @Override public Boolean eval(final StackFrame stackFrame, final Stack stack, final Heap heap, final Statics statics) {
-      final int value2 = (int) stackFrame.pop();
-      final int value1 = (int) stackFrame.pop();
+      final int value2 = stackFrame.popInt();
+      final int value1 = stackFrame.popInt();
       return value1 < value2;
    }
 }
@@ -9,7 +9,7 @@ import com.lexicalscope.symb.vm.concinstructions.BranchPredicate;
 public class Ne implements BranchPredicate {
 	@Override
 	public Boolean eval(final StackFrame stackFrame, final Stack stack, final Heap heap, final Statics statics) {
-		return (int) stackFrame.pop() != 0;
+		return stackFrame.popInt() != 0;
 	}
 
 	@Override public String toString() {
@@ -15,14 +15,17 @@ import org.objectweb.asm.tree.IntInsnNode;
 import org.objectweb.asm.tree.JumpInsnNode;
 import org.objectweb.asm.tree.LdcInsnNode;
 import org.objectweb.asm.tree.MethodInsnNode;
+import org.objectweb.asm.tree.MethodNode;
 import org.objectweb.asm.tree.TypeInsnNode;
 import org.objectweb.asm.tree.VarInsnNode;
 
 import com.lexicalscope.symb.vm.Instruction;
 import com.lexicalscope.symb.vm.Vop;
+import com.lexicalscope.symb.vm.classloader.SClass;
 import com.lexicalscope.symb.vm.classloader.SMethodName;
 import com.lexicalscope.symb.vm.instructions.ops.AConstNullOp;
 import com.lexicalscope.symb.vm.instructions.ops.AddressToHashCodeOp;
+import com.lexicalscope.symb.vm.instructions.ops.ArrayCopyOp;
 import com.lexicalscope.symb.vm.instructions.ops.ArrayLengthOp;
 import com.lexicalscope.symb.vm.instructions.ops.BinaryOp;
 import com.lexicalscope.symb.vm.instructions.ops.BinaryOperator;
@@ -31,6 +34,8 @@ import com.lexicalscope.symb.vm.instructions.ops.CurrentThreadOp;
 import com.lexicalscope.symb.vm.instructions.ops.CurrentTimeMillisOp;
 import com.lexicalscope.symb.vm.instructions.ops.DefineClassOp;
 import com.lexicalscope.symb.vm.instructions.ops.IincOp;
+import com.lexicalscope.symb.vm.instructions.ops.IntBinaryOp;
+import com.lexicalscope.symb.vm.instructions.ops.IntBinaryOperator;
 import com.lexicalscope.symb.vm.instructions.ops.InitThreadOp;
 import com.lexicalscope.symb.vm.instructions.ops.InstanceOfOp;
 import com.lexicalscope.symb.vm.instructions.ops.IorOp;
@@ -45,12 +50,19 @@ import com.lexicalscope.symb.vm.instructions.ops.NewArrayOp;
 import com.lexicalscope.symb.vm.instructions.ops.NullaryOp;
 import com.lexicalscope.symb.vm.instructions.ops.NullaryOperator;
 import com.lexicalscope.symb.vm.instructions.ops.Store;
+import com.lexicalscope.symb.vm.jit.CompiledMethod;
 
 public final class BaseInstructions implements Instructions {
    private final InstructionFactory instructionFactory;
+   private final boolean superInstructions;
 
    public BaseInstructions(final InstructionFactory instructionFactory) {
+      this(instructionFactory, true);
+   }
+
+   public BaseInstructions(final InstructionFactory instructionFactory, final boolean superInstructions) {
       this.instructionFactory = instructionFactory;
+      this.superInstructions = superInstructions;
    }
 
    @Override public void instructionFor(
@@ -68,6 +80,10 @@ public final class BaseInstructions implements Instructions {
       instructionSink.nextInstruction(abstractInsnNode, instructionFor(abstractInsnNode));
    }
 
+   @Override public InstructionSink superInstructions(final MethodNode method, final InstructionSink instructionSink) {
+      return superInstructions ? new SuperInstructionSink(method, instructionSink) : instructionSink;
+   }
+
    /*
     * Only instructions new, getstatic, putstatic, or invokestatic can cause class loading.
     */
@@ -235,6 +251,8 @@ public final class BaseInstructions implements Instructions {
                   return instructionFactory.branchIfICmpLt(jumpInsnNode);
                case Opcodes.IF_ICMPGE:
                   return instructionFactory.branchIfICmpGe(jumpInsnNode);
+               case Opcodes.IF_ACMPEQ:
+                  return instructionFactory.branchIfACmpEq(jumpInsnNode);
                case Opcodes.IF_ACMPNE:
                   return instructionFactory.branchIfACmpNe(jumpInsnNode);
                case Opcodes.GOTO:
@@ -318,6 +336,9 @@ public final class BaseInstructions implements Instructions {
    }
 
    private LinearInstruction binaryOp(final BinaryOperator addOperation) {
+      if(addOperation instanceof IntBinaryOperator) {
+         return new LinearInstruction(new IntBinaryOp((IntBinaryOperator) addOperation));
+      }
       return new LinearInstruction(new BinaryOp(addOperation));
    }
 
@@ -329,6 +350,10 @@ public final class BaseInstructions implements Instructions {
       return new LinearInstruction(new DefineClassOp(klassName));
    }
 
+   @Override public CompiledMethod compile(final SClass klass, final MethodNode method) {
+      return instructionFactory.compile(klass, method);
+   }
+
    @Override public Instruction initThread() {
       return new LinearInstruction(new InitThreadOp());
    }
@@ -353,6 +378,10 @@ public final class BaseInstructions implements Instructions {
       return linearInstruction(new AddressToHashCodeOp());
    }
 
+   public Instruction arrayCopy() {
+      return linearInstruction(new ArrayCopyOp());
+   }
+
    public Instruction nanoTime() {
       return linearInstruction(new NanoTimeOp());
    }
@@ -1,12 +1,15 @@
 package com.lexicalscope.symb.vm.instructions;
 
 import org.objectweb.asm.tree.JumpInsnNode;
+import org.objectweb.asm.tree.MethodNode;
 
 import com.lexicalscope.symb.vm.Instruction;
 import com.lexicalscope.symb.vm.Snapshotable;
 import com.lexicalscope.symb.vm.Vop;
+import com.lexicalscope.symb.vm.classloader.SClass;
 import com.lexicalscope.symb.vm.instructions.ops.BinaryOperator;
 import com.lexicalscope.symb.vm.instructions.ops.NullaryOperator;
+import com.lexicalscope.symb.vm.jit.CompiledMethod;
 
 public interface InstructionFactory {
 	BinaryOperator iaddOperation();
@@ -35,4 +38,9 @@ public interface InstructionFactory {
 	Instruction branchIfACmpNe(JumpInsnNode jumpInsnNode);
 
 	Snapshotable<?> initialMeta();
+
+	/**
+	 * @return the method compiled for concrete execution, or null if it must be interpreted
+	 */
+	CompiledMethod compile(SClass klass, MethodNode method);
 }
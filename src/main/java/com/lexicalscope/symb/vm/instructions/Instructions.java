@@ -1,9 +1,12 @@
 package com.lexicalscope.symb.vm.instructions;
 
 import org.objectweb.asm.tree.AbstractInsnNode;
+import org.objectweb.asm.tree.MethodNode;
 
 import com.lexicalscope.symb.vm.Instruction;
+import com.lexicalscope.symb.vm.classloader.SClass;
 import com.lexicalscope.symb.vm.classloader.SMethodName;
+import com.lexicalscope.symb.vm.jit.CompiledMethod;
 
 public interface Instructions {
    public interface InstructionSink {
@@ -13,10 +16,17 @@ public interface Instructions {
 
    void instructionFor(AbstractInsnNode abstractInsnNode, InstructionSink instructionSink);
 
+   /**
+    * @return a sink that fuses runs of the method's instructions into superinstructions, or the given sink if fusion is off
+    */
+   InstructionSink superInstructions(MethodNode method, InstructionSink instructionSink);
+
    Instruction defineClass(String internalName);
    Instruction createInvokeSpecial(SMethodName sMethodName);
 
    Instruction initThread();
 
+   CompiledMethod compile(SClass klass, MethodNode method);
+
    StatementBuilder statements();
 }
\ No newline at end of file
@@ -2,18 +2,20 @@ package com.lexicalscope.symb.vm.instructions;
 
 import static com.lexicalscope.symb.vm.instructions.ops.Ops.nextInstruction;
 
+import com.lexicalscope.symb.vm.Explorer;
 import com.lexicalscope.symb.vm.Heap;
 import com.lexicalscope.symb.vm.Instruction;
 import com.lexicalscope.symb.vm.InstructionNode;
+import com.lexicalscope.symb.vm.Linkable;
 import com.lexicalscope.symb.vm.Op;
 import com.lexicalscope.symb.vm.Stack;
 import com.lexicalscope.symb.vm.StackFrame;
 import com.lexicalscope.symb.vm.State;
 import com.lexicalscope.symb.vm.Statics;
-import com.lexicalscope.symb.vm.Vm;
 import com.lexicalscope.symb.vm.Vop;
+import com.lexicalscope.symb.vm.classloader.SClass;
 
-public class LinearInstruction implements Instruction {
+public class LinearInstruction implements Instruction, Linkable {
    private final Vop op;
 
    public LinearInstruction(final Vop op) {
@@ -32,9 +34,17 @@ public class LinearInstruction implements Instruction {
       });
    }
 
+   Vop op() {
+      return op;
+   }
+
+   @Override public void link(final SClass klass) {
+      if(op instanceof Linkable) ((Linkable) op).link(klass);
+   }
+
    @Override
-   public void eval(final Vm vm, final State state, final InstructionNode instruction) {
-      state.op(nextInstruction(instruction));
+   public void eval(final Explorer explorer, final State state, final InstructionNode instruction) {
+      state.op(nextInstruction());
       state.op(op);
    }
 
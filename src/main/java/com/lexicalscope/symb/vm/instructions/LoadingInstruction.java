@@ -2,25 +2,31 @@ package com.lexicalscope.symb.vm.instructions;
 
 import static com.lexicalscope.symb.vm.instructions.ops.Ops.nextInstruction;
 
+import com.lexicalscope.symb.vm.Explorer;
 import com.lexicalscope.symb.vm.Instruction;
 import com.lexicalscope.symb.vm.InstructionNode;
+import com.lexicalscope.symb.vm.Linkable;
 import com.lexicalscope.symb.vm.State;
-import com.lexicalscope.symb.vm.Vm;
 import com.lexicalscope.symb.vm.Vop;
+import com.lexicalscope.symb.vm.classloader.SClass;
 import com.lexicalscope.symb.vm.instructions.ops.DefineClassOp;
 
-public class LoadingInstruction implements Instruction {
-   private final String klassDesc;
+public class LoadingInstruction implements Instruction, Linkable {
+   private final DefineClassOp defineClass;
    private final Vop op;
 
    public LoadingInstruction(final String klassDesc, final Vop op) {
-      this.klassDesc = klassDesc;
+      this.defineClass = new DefineClassOp(klassDesc);
       this.op = op;
    }
 
-   @Override public void eval(final Vm vm, final State state, final InstructionNode instruction) {
-      if(!state.op(new DefineClassOp(klassDesc))){
-         state.op(nextInstruction(instruction));
+   @Override public void link(final SClass klass) {
+      if(op instanceof Linkable) ((Linkable) op).link(klass);
+   }
+
+   @Override public void eval(final Explorer explorer, final State state, final InstructionNode instruction) {
+      if(!state.op(defineClass)){
+         state.op(nextInstruction());
          state.op(op);
       }
    }
@@ -1,18 +1,26 @@
 package com.lexicalscope.symb.vm.instructions;
 
+import static com.lexicalscope.symb.vm.classloader.SClass.OBJECT_CLASS_OFFSET;
+import static java.util.Arrays.copyOf;
+
 import org.objectweb.asm.Opcodes;
 import org.objectweb.asm.tree.MethodInsnNode;
 
+import com.lexicalscope.symb.vm.Explorer;
+import com.lexicalscope.symb.vm.Heap;
 import com.lexicalscope.symb.vm.Instruction;
 import com.lexicalscope.symb.vm.InstructionNode;
 import com.lexicalscope.symb.vm.Stack;
-import com.lexicalscope.symb.vm.StackVop;
+import com.lexicalscope.symb.vm.StackFrame;
 import com.lexicalscope.symb.vm.State;
 import com.lexicalscope.symb.vm.Statics;
-import com.lexicalscope.symb.vm.Vm;
+import com.lexicalscope.symb.vm.Vop;
+import com.lexicalscope.symb.vm.classloader.SClass;
+import com.lexicalscope.symb.vm.classloader.SClassRef;
 import com.lexicalscope.symb.vm.classloader.SMethod;
 import com.lexicalscope.symb.vm.classloader.SMethodName;
 import com.lexicalscope.symb.vm.instructions.ops.DefineClassOp;
+import com.lexicalscope.symb.vm.jit.CompiledMethod;
 
 public class MethodCallInstruction implements Instruction {
    public interface MethodInvokation {
@@ -20,10 +28,30 @@ public class MethodCallInstruction implements Instruction {
 
       String name();
 
-      boolean load(State state, String klassName);
+      boolean load(State state, DefineClassOp defineClass);
+
+      /**
+       * Find the method named by the instruction, done once per call site.
+       */
+      SMethod resolve(SClass klass, SMethodName sMethodName);
+
+      /**
+       * Find the method to run for this particular call.
+       */
+      SMethod target(StackFrame stackFrame, Heap heap, SMethod resolved);
    }
 
+   /**
+    * Dispatches through the receiver's vtable. Each call site remembers the
+    * receiver classes it has seen, so a call is usually a class compare.
+    */
    public static class VirtualMethodInvokation implements MethodInvokation {
+      private static final int POLYMORPHIC_LIMIT = 4;
+
+      // replaced, never changed, so it can be read without locking
+      private volatile InlineCache cache = InlineCache.EMPTY;
+      private int vtableIndex;
+
       @Override public int argSize(final SMethod targetMethod) {
          return targetMethod.argSize();
       }
@@ -32,7 +60,31 @@ public class MethodCallInstruction implements Instruction {
          return "INVOKEVIRTUAL";
       }
 
-      @Override public boolean load(final State state, final String klassName) { return false; }
+      @Override public boolean load(final State state, final DefineClassOp defineClass) { return false; }
+
+      @Override public SMethod resolve(final SClass klass, final SMethodName sMethodName) {
+         vtableIndex = klass.vtableIndex(sMethodName.name(), sMethodName.desc());
+         return klass.virtualMethod(vtableIndex);
+      }
+
+      @Override public SMethod target(final StackFrame stackFrame, final Heap heap, final SMethod resolved) {
+         final Object receiver = stackFrame.peekAt(resolved.argSize() - 1);
+         if(receiver == null) return resolved;
+
+         final Object receiverClass = heap.get(receiver, OBJECT_CLASS_OFFSET);
+         // arrays do not record their class
+         if(!(receiverClass instanceof SClass)) return resolved;
+
+         final InlineCache cache = this.cache;
+         final SMethod cached = cache.lookup(receiverClass);
+         if(cached != null) return cached;
+
+         final SMethod target = ((SClass) receiverClass).virtualMethod(vtableIndex);
+         if(cache.size() < POLYMORPHIC_LIMIT) {
+            this.cache = cache.with((SClass) receiverClass, target);
+         }
+         return target;
+      }
    }
 
    public static class SpecialMethodInvokation implements MethodInvokation {
@@ -44,7 +96,15 @@ public class MethodCallInstruction implements Instruction {
          return "INVOKESPECIAL";
       }
 
-      @Override public boolean load(final State state, final String klassName) { return false; }
+      @Override public boolean load(final State state, final DefineClassOp defineClass) { return false; }
+
+      @Override public SMethod resolve(final SClass klass, final SMethodName sMethodName) {
+         return klass.staticMethod(sMethodName.name(), sMethodName.desc());
+      }
+
+      @Override public SMethod target(final StackFrame stackFrame, final Heap heap, final SMethod resolved) {
+         return resolved;
+      }
    }
 
    public static class StaticMethodInvokation implements MethodInvokation {
@@ -56,33 +116,93 @@ public class MethodCallInstruction implements Instruction {
          return "INVOKESTATIC";
       }
 
-      @Override public boolean load(final State state, final String klassName) {
-         return state.op(new DefineClassOp(klassName));
+      @Override public boolean load(final State state, final DefineClassOp defineClass) {
+         return state.op(defineClass);
+      }
+
+      @Override public SMethod resolve(final SClass klass, final SMethodName sMethodName) {
+         return klass.staticMethod(sMethodName.name(), sMethodName.desc());
+      }
+
+      @Override public SMethod target(final StackFrame stackFrame, final Heap heap, final SMethod resolved) {
+         return resolved;
+      }
+   }
+
+   private static final class InlineCache {
+      static final InlineCache EMPTY = new InlineCache(new SClass[0], new SMethod[0]);
+
+      private final SClass[] receiverClasses;
+      private final SMethod[] targets;
+
+      private InlineCache(final SClass[] receiverClasses, final SMethod[] targets) {
+         this.receiverClasses = receiverClasses;
+         this.targets = targets;
+      }
+
+      SMethod lookup(final Object receiverClass) {
+         for (int i = 0; i < receiverClasses.length; i++) {
+            if(receiverClasses[i] == receiverClass) return targets[i];
+         }
+         return null;
+      }
+
+      int size() {
+         return receiverClasses.length;
+      }
+
+      InlineCache with(final SClass receiverClass, final SMethod target) {
+         final SClass[] newReceiverClasses = copyOf(receiverClasses, receiverClasses.length + 1);
+         final SMethod[] newTargets = copyOf(targets, targets.length + 1);
+         newReceiverClasses[receiverClasses.length] = receiverClass;
+         newTargets[targets.length] = target;
+         return new InlineCache(newReceiverClasses, newTargets);
       }
    }
 
    private final MethodInvokation methodInvokation;
    private final SMethodName sMethodName;
+   private final SClassRef klass;
+   private final DefineClassOp defineClass;
+   // the method named by the instruction, looked up when first executed
+   private volatile SMethod resolved;
+   private final Vop call = new Vop() {
+      @Override public void eval(final StackFrame stackFrame, final Stack stack, final Heap heap, final Statics statics) {
+         // the frame is still at the call
+         final InstructionNode returnTo = stackFrame.instruction().next();
+         final SMethod targetMethod = methodInvokation.target(stackFrame, heap, resolved(statics));
+         final CompiledMethod compiled = targetMethod.compiled();
+         if(compiled != null && compiled.invoke(stackFrame, heap, statics)) {
+            stackFrame.advance(returnTo);
+         } else {
+            stack.pushFrame(returnTo, targetMethod, methodInvokation.argSize(targetMethod));
+         }
+      }
+   };
 
    public MethodCallInstruction(final SMethodName sMethodName, final MethodInvokation methodInvokation) {
       this.sMethodName = sMethodName;
       this.methodInvokation = methodInvokation;
+      this.klass = new SClassRef(sMethodName.klassName());
+      this.defineClass = new DefineClassOp(sMethodName.klassName());
    }
 
    public MethodCallInstruction(final MethodInsnNode methodInsnNode, final MethodInvokation methodInvokation) {
       this(new SMethodName(methodInsnNode.owner, methodInsnNode.name, methodInsnNode.desc), methodInvokation);
    }
 
-   @Override public void eval(final Vm vm, final State state, final InstructionNode instruction) {
-      if(!methodInvokation.load(state, sMethodName.klassName())){
-         state.op(new StackVop() {
-            @Override public void eval(final Stack stack, final Statics statics) {
-               // TODO[tim]: virtual does not resolve overridden methods
-               final SMethod targetMethod = statics.loadMethod(sMethodName);
-               stack.pushFrame(instruction.next(), targetMethod, methodInvokation.argSize(targetMethod));
-            }
-         });
+   @Override public void eval(final Explorer explorer, final State state, final InstructionNode instruction) {
+      if(!methodInvokation.load(state, defineClass)){
+         state.op(call);
+      }
+   }
+
+   private SMethod resolved(final Statics statics) {
+      SMethod result = resolved;
+      if(result == null) {
+         result = resolved = methodInvokation.resolve(klass.load(statics), sMethodName);
       }
+      return result;
    }
 
    @Override
@@ -64,6 +64,11 @@ public class StatementBuilder {
       return this;
    }
 
+   public StatementBuilder arrayCopy() {
+      instructions.add(baseInstructions.arrayCopy());
+      return this;
+   }
+
    public StatementBuilder nanoTime() {
       instructions.add(baseInstructions.nanoTime());
       return this;
@@ -0,0 +1,69 @@
+package com.lexicalscope.symb.vm.instructions;
+
+import com.lexicalscope.symb.vm.Explorer;
+import com.lexicalscope.symb.vm.Heap;
+import com.lexicalscope.symb.vm.Instruction;
+import com.lexicalscope.symb.vm.InstructionNode;
+import com.lexicalscope.symb.vm.Linkable;
+import com.lexicalscope.symb.vm.Stack;
+import com.lexicalscope.symb.vm.StackFrame;
+import com.lexicalscope.symb.vm.State;
+import com.lexicalscope.symb.vm.Statics;
+import com.lexicalscope.symb.vm.Vop;
+import com.lexicalscope.symb.vm.classloader.SClass;
+
+/**
+ * Runs a straight-line run of linear instructions as one step, and then the
+ * instruction that ends the run, if there is one. It sits at the node of the
+ * first instruction of the run; the nodes of the rest of the run are left in
+ * place, but are never reached through this one.
+ */
+final class SuperInstruction implements Instruction, Linkable {
+   private final LinearInstruction[] run;
+   private final Instruction tail;
+   private final Vop ops = new Vop() {
+      @Override public void eval(final StackFrame stackFrame, final Stack stack, final Heap heap, final Statics statics) {
+         stackFrame.advance(after);
+         for (final LinearInstruction instruction : run) {
+            instruction.op().eval(stackFrame, stack, heap, statics);
+         }
+      }
+   };
+
+   // the node after the run, found when first executed
+   private InstructionNode after;
+
+   SuperInstruction(final LinearInstruction[] run, final Instruction tail) {
+      this.run = run;
+      this.tail = tail;
+   }
+
+   @Override public void link(final SClass klass) {
+      for (final LinearInstruction instruction : run) {
+         instruction.link(klass);
+      }
+      if(tail instanceof Linkable) ((Linkable) tail).link(klass);
+   }
+
+   @Override public void eval(final Explorer explorer, final State state, final InstructionNode instruction) {
+      if(after == null) {
+         InstructionNode node = instruction;
+         for (int i = 0; i < run.length; i++) {
+            node = node.next();
+         }
+         after = node;
+      }
+
+      state.op(ops);
+      if(tail != null) tail.eval(explorer, state, after);
+   }
+
+   @Override public String toString() {
+      final StringBuilder result = new StringBuilder();
+      for (final LinearInstruction instruction : run) {
+         result.append(instruction).append("; ");
+      }
+      if(tail != null) result.append(tail); else result.setLength(result.length() - 2);
+      return result.toString();
+   }
+}
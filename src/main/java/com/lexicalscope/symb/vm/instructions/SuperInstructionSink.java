@@ -0,0 +1,99 @@
+package com.lexicalscope.symb.vm.instructions;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.objectweb.asm.tree.AbstractInsnNode;
+import org.objectweb.asm.tree.JumpInsnNode;
+import org.objectweb.asm.tree.LabelNode;
+import org.objectweb.asm.tree.LookupSwitchInsnNode;
+import org.objectweb.asm.tree.MethodNode;
+import org.objectweb.asm.tree.TableSwitchInsnNode;
+import org.objectweb.asm.tree.TryCatchBlockNode;
+
+import com.lexicalscope.symb.vm.Instruction;
+import com.lexicalscope.symb.vm.instructions.Instructions.InstructionSink;
+
+/**
+ * Holds back runs of linear instructions, and passes each on with a
+ * {@link SuperInstruction} in place of its first instruction. A run ends at
+ * the first instruction that is not linear, which joins the run, or just
+ * before anything that can be jumped to.
+ */
+final class SuperInstructionSink implements InstructionSink {
+   private final InstructionSink sink;
+   private final Set<LabelNode> jumpTargets = new HashSet<>();
+
+   private final List<AbstractInsnNode> heldAsm = new ArrayList<>();
+   private final List<Instruction> held = new ArrayList<>();
+   private final List<LinearInstruction> run = new ArrayList<>();
+
+   SuperInstructionSink(final MethodNode method, final InstructionSink sink) {
+      this.sink = sink;
+
+      for (AbstractInsnNode asm = method.instructions.getFirst(); asm != null; asm = asm.getNext()) {
+         if(asm instanceof JumpInsnNode) {
+            jumpTargets.add(((JumpInsnNode) asm).label);
+         } else if(asm instanceof TableSwitchInsnNode) {
+            jumpTargets.add(((TableSwitchInsnNode) asm).dflt);
+            jumpTargets.addAll(labels(((TableSwitchInsnNode) asm).labels));
+         } else if(asm instanceof LookupSwitchInsnNode) {
+            jumpTargets.add(((LookupSwitchInsnNode) asm).dflt);
+            jumpTargets.addAll(labels(((LookupSwitchInsnNode) asm).labels));
+         }
+      }
+      for (final Object tryCatchBlock : method.tryCatchBlocks) {
+         jumpTargets.add(((TryCatchBlockNode) tryCatchBlock).handler);
+      }
+   }
+
+   @SuppressWarnings("unchecked") private static List<LabelNode> labels(final List<?> labels) {
+      return (List<LabelNode>) labels;
+   }
+
+   @Override public void nextInstruction(final AbstractInsnNode asmInstruction, final Instruction instruction) {
+      if(instruction instanceof LinearInstruction) {
+         hold(asmInstruction, instruction);
+         run.add((LinearInstruction) instruction);
+      } else if(!run.isEmpty()) {
+         hold(asmInstruction, instruction);
+         release(instruction);
+      } else {
+         sink.nextInstruction(asmInstruction, instruction);
+      }
+   }
+
+   @Override public void noInstruction(final AbstractInsnNode abstractInsnNode) {
+      if(jumpTargets.contains(abstractInsnNode)) release(null);
+
+      if(run.isEmpty()) {
+         sink.noInstruction(abstractInsnNode);
+      } else {
+         hold(abstractInsnNode, null);
+      }
+   }
+
+   private void hold(final AbstractInsnNode asmInstruction, final Instruction instruction) {
+      heldAsm.add(asmInstruction);
+      held.add(instruction);
+   }
+
+   private void release(final Instruction tail) {
+      if(run.size() + (tail == null ? 0 : 1) > 1) {
+         held.set(0, new SuperInstruction(run.toArray(new LinearInstruction[run.size()]), tail));
+      }
+
+      for (int i = 0; i < held.size(); i++) {
+         if(held.get(i) == null) {
+            sink.noInstruction(heldAsm.get(i));
+         } else {
+            sink.nextInstruction(heldAsm.get(i), held.get(i));
+         }
+      }
+      heldAsm.clear();
+      held.clear();
+      run.clear();
+   }
+}
@@ -2,10 +2,10 @@ package com.lexicalscope.symb.vm.instructions;
 
 import org.objectweb.asm.tree.AbstractInsnNode;
 
+import com.lexicalscope.symb.vm.Explorer;
 import com.lexicalscope.symb.vm.Instruction;
 import com.lexicalscope.symb.vm.InstructionNode;
 import com.lexicalscope.symb.vm.State;
-import com.lexicalscope.symb.vm.Vm;
 
 public class UnsupportedInstruction implements Instruction {
    private final AbstractInsnNode abstractInsnNode;
@@ -15,7 +15,7 @@ public class UnsupportedInstruction implements Instruction {
    }
 
    @Override
-   public void eval(final Vm vm, final State state, final InstructionNode instruction) {
+   public void eval(final Explorer explorer, final State state, final InstructionNode instruction) {
       throw new UnsupportedInstructionException(abstractInsnNode);
    }
 
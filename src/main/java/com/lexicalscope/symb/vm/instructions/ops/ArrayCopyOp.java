@@ -0,0 +1,50 @@
+package com.lexicalscope.symb.vm.instructions.ops;
+
+import static com.lexicalscope.symb.vm.instructions.ops.NewArrayOp.ARRAY_LENGTH_OFFSET;
+import static com.lexicalscope.symb.vm.instructions.ops.NewArrayOp.ARRAY_PREAMBLE;
+
+import com.lexicalscope.symb.vm.Heap;
+import com.lexicalscope.symb.vm.Stack;
+import com.lexicalscope.symb.vm.StackFrame;
+import com.lexicalscope.symb.vm.Statics;
+import com.lexicalscope.symb.vm.Vop;
+
+/**
+ * System.arraycopy, reading its arguments from the locals of the native frame.
+ * The arguments are checked before anything is copied, so a bad copy cannot
+ * write past the end of an array into the next object on the heap.
+ */
+public class ArrayCopyOp implements Vop {
+   @Override public void eval(final StackFrame stackFrame, final Stack stack, final Heap heap, final Statics statics) {
+      final Object src = stackFrame.local(0);
+      final int srcPos = stackFrame.localInt(1);
+      final Object dest = stackFrame.local(2);
+      final int destPos = stackFrame.localInt(3);
+      final int length = stackFrame.localInt(4);
+
+      final Object nullPointer = heap.nullPointer();
+      if(nullPointer.equals(src) || nullPointer.equals(dest)) {
+         throw new NullPointerException("unable to arraycopy " + (nullPointer.equals(src) ? "from" : "to") + " null");
+      }
+      if(length < 0) {
+         throw new ArrayIndexOutOfBoundsException("unable to arraycopy negative length " + length);
+      }
+      checkRange("source", srcPos, length, heap.getInt(src, ARRAY_LENGTH_OFFSET));
+      checkRange("destination", destPos, length, heap.getInt(dest, ARRAY_LENGTH_OFFSET));
+
+      heap.copy(src, srcPos + ARRAY_PREAMBLE, dest, destPos + ARRAY_PREAMBLE, length);
+   }
+
+   // written so that pos + length cannot overflow
+   private static void checkRange(final String which, final int pos, final int length, final int arrayLength) {
+      if(pos < 0 || pos > arrayLength - length) {
+         throw new ArrayIndexOutOfBoundsException(String.format(
+               "unable to arraycopy %d elements at %s index %d of array of length %d",
+               length, which, pos, arrayLength));
+      }
+   }
+
+   @Override public String toString() {
+      return "ARRAYCOPY";
+   }
+}
@@ -11,7 +11,7 @@ import com.lexicalscope.symb.vm.Vop;
 public class ArrayLengthOp implements Vop {
    @Override public void eval(final StackFrame stackFrame, final Stack stack, final Heap heap, final Statics statics) {
       final Object address = stackFrame.pop();
-      stackFrame.push(heap.get(address, ARRAY_LENGTH_OFFSET));
+      stackFrame.pushInt(heap.getInt(address, ARRAY_LENGTH_OFFSET));
    }
 
    @Override public String toString() {
@@ -19,13 +19,6 @@ public class ArrayLoadOp implements Vop {
       }
    };
 
-   private static ValueTransform widenToInt = new ValueTransform() {
-      @Override public Object transformForStore(final Object value) {
-         assert value instanceof Character;
-         return (int)(char)value;
-      }
-   };
-
    private final ValueTransform valueTransform;
 
    public ArrayLoadOp(final ValueTransform valueTransform) {
@@ -33,7 +26,7 @@ public class ArrayLoadOp implements Vop {
    }
 
    @Override public void eval(final StackFrame stackFrame, final Stack stack, final Heap heap, final Statics statics) {
-      final int offset = (int) stackFrame.pop();
+      final int offset = stackFrame.popInt();
       final Object arrayref = stackFrame.pop();
 
       stackFrame.push(valueTransform.transformForStore(heap.get(arrayref, offset + ARRAY_PREAMBLE)));
@@ -44,7 +37,7 @@ public class ArrayLoadOp implements Vop {
    }
 
    public static Vop caLoad() {
-      return new ArrayLoadOp(widenToInt);
+      return new CharArrayLoadOp();
    }
 
    public static Vop aaLoad() {
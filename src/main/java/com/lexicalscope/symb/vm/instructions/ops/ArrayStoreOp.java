@@ -34,7 +34,7 @@ public class ArrayStoreOp implements Vop {
 
    @Override public void eval(final StackFrame stackFrame, final Stack stack, final Heap heap, final Statics statics) {
       final Object value = stackFrame.pop();
-      final int offset = (int) stackFrame.pop();
+      final int offset = stackFrame.popInt();
       final Object arrayref = stackFrame.pop();
 
       heap.put(arrayref, offset + ARRAY_PREAMBLE, value);
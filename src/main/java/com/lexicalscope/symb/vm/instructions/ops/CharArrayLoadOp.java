@@ -0,0 +1,25 @@
+package com.lexicalscope.symb.vm.instructions.ops;
+
+import static com.lexicalscope.symb.vm.instructions.ops.NewArrayOp.ARRAY_PREAMBLE;
+
+import com.lexicalscope.symb.vm.Heap;
+import com.lexicalscope.symb.vm.Stack;
+import com.lexicalscope.symb.vm.StackFrame;
+import com.lexicalscope.symb.vm.Statics;
+import com.lexicalscope.symb.vm.Vop;
+
+/**
+ * Loads a char, widened to an int, without boxing it
+ */
+public class CharArrayLoadOp implements Vop {
+   @Override public void eval(final StackFrame stackFrame, final Stack stack, final Heap heap, final Statics statics) {
+      final int offset = stackFrame.popInt();
+      final Object arrayref = stackFrame.pop();
+
+      stackFrame.pushInt(heap.getInt(arrayref, offset + ARRAY_PREAMBLE));
+   }
+
+   @Override public String toString() {
+      return "CALOAD";
+   }
+}
@@ -8,12 +8,13 @@ import com.lexicalscope.symb.vm.StackFrame;
 import com.lexicalscope.symb.vm.Statics;
 import com.lexicalscope.symb.vm.Vop;
 import com.lexicalscope.symb.vm.classloader.SClass;
+import com.lexicalscope.symb.vm.classloader.SClassRef;
 
 public class CheckCastOp implements Vop {
-   private final String klassName;
+   private final SClassRef klass;
 
    public CheckCastOp(final String klassName) {
-      this.klassName = klassName;
+      this.klass = new SClassRef(klassName);
    }
 
    @Override public void eval(final StackFrame stackFrame, final Stack stack, final Heap heap, final Statics statics) {
@@ -23,7 +24,7 @@ public class CheckCastOp implements Vop {
       }
 
       final SClass classFromHeap = (SClass) heap.get(address, OBJECT_CLASS_OFFSET);
-      final SClass classFromInstruction = statics.load(klassName);
+      final SClass classFromInstruction = klass.load(statics);
 
       if(classFromHeap.instanceOf(classFromInstruction)) {
          return;
@@ -12,33 +12,34 @@ import com.lexicalscope.symb.vm.Stack;
 import com.lexicalscope.symb.vm.StackFrame;
 import com.lexicalscope.symb.vm.Statics;
 import com.lexicalscope.symb.vm.classloader.SClass;
+import com.lexicalscope.symb.vm.classloader.SClassRef;
 import com.lexicalscope.symb.vm.instructions.MethodCallInstruction;
 
 public final class DefineClassOp implements Op<Boolean> {
-   private final String klassName;
+   private final SClassRef klass;
 
    public DefineClassOp(final String klassName) {
-      this.klassName = klassName;
+      this.klass = new SClassRef(klassName);
    }
 
    @Override public Boolean eval(final StackFrame stackFrame, final Stack stack, final Heap heap, final Statics statics) {
       boolean jumpToInitaliser = false;
-      if (!statics.isDefined(klassName)) {
+      if (!klass.isDefined(statics)) {
          InstructionNode currentInstruction = stackFrame.instruction();
 
          // should initialise all the superclasses.
 
-         final List<SClass> klasses = statics.defineClass(klassName);
-         for (final SClass klass : klasses) {
-            if(klass.statics().fieldCount() > 0) {
-               final Object staticsAddress = heap.newObject(klass.statics());
-               heap.put(staticsAddress, 0, klass.name());
-               statics.staticsAt(klass, staticsAddress);
+         final List<SClass> klasses = statics.defineClass(klass.name());
+         for (final SClass defined : klasses) {
+            if(defined.statics().fieldCount() > 0) {
+               final Object staticsAddress = heap.newObject(defined.statics());
+               heap.put(staticsAddress, 0, defined.name());
+               statics.staticsAt(defined, staticsAddress);
             }
 
-            if(klass.hasStaticInitialiser())
+            if(defined.hasStaticInitialiser())
             {
-               final InstructionInternalNode injectedInstruction = new InstructionInternalNode(MethodCallInstruction.createInvokeStatic(klass.name(), CLINIT, NOARGS_VOID_DESC));
+               final InstructionInternalNode injectedInstruction = new InstructionInternalNode(MethodCallInstruction.createInvokeStatic(defined.name(), CLINIT, NOARGS_VOID_DESC));
                injectedInstruction.next(currentInstruction);
                currentInstruction = injectedInstruction;
                stackFrame.advance(injectedInstruction);
@@ -50,6 +51,6 @@ public final class DefineClassOp implements Op<Boolean> {
    }
 
    @Override public String toString() {
-      return "Define Class " + klassName;
+      return "Define Class " + klass;
    }
 }
\ No newline at end of file
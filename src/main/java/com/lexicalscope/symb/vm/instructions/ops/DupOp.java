@@ -13,6 +13,6 @@ public class DupOp implements Vop {
    }
 
    @Override public void eval(final StackFrame stackFrame, Stack stack, final Heap heap, Statics statics) {
-      stackFrame.push(stackFrame.peek());
+      stackFrame.dup();
    }
 }
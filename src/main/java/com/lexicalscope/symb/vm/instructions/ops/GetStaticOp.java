@@ -3,34 +3,37 @@ package com.lexicalscope.symb.vm.instructions.ops;
 import org.objectweb.asm.tree.FieldInsnNode;
 
 import com.lexicalscope.symb.vm.Heap;
+import com.lexicalscope.symb.vm.Linkable;
 import com.lexicalscope.symb.vm.Stack;
 import com.lexicalscope.symb.vm.StackFrame;
 import com.lexicalscope.symb.vm.Statics;
 import com.lexicalscope.symb.vm.Vop;
 import com.lexicalscope.symb.vm.classloader.SClass;
-import com.lexicalscope.symb.vm.classloader.SFieldName;
+import com.lexicalscope.symb.vm.classloader.SFieldRef;
 import com.lexicalscope.symb.vm.instructions.BaseInstructions;
 
-final class GetStaticOp implements Vop {
+final class GetStaticOp implements Vop, Linkable {
    private final FieldInsnNode fieldInsnNode;
-   private final SFieldName name;
+   private final SFieldRef field;
 
    GetStaticOp(final FieldInsnNode fieldInsnNode) {
       this.fieldInsnNode = fieldInsnNode;
-      this.name = new SFieldName(fieldInsnNode.owner, fieldInsnNode.name);
+      this.field = new SFieldRef(fieldInsnNode.owner, fieldInsnNode.name, true);
+   }
+
+   @Override public void link(final SClass klass) {
+      field.link(klass);
    }
 
    @Override
    public void eval(final StackFrame stackFrame, final Stack stack, final Heap heap, final Statics statics) {
-      final SClass klass = statics.load(fieldInsnNode.owner);
-      final Object staticsAddress = statics.whereMyStaticsAt(klass);
-      final int offset = klass.staticFieldIndex(name);
+      final Object staticsAddress = statics.whereMyStaticsAt(field.declaringClass(statics));
 
-      stackFrame.push(heap.get(staticsAddress, offset));
+      stackFrame.push(heap.get(staticsAddress, field.offset(statics)));
    }
 
    @Override
    public String toString() {
       return "GETSTATIC " + BaseInstructions.fieldKey(fieldInsnNode);
    }
-}
\ No newline at end of file
+}
@@ -16,6 +16,6 @@ public class IincOp implements Vop {
    }
 
    @Override public void eval(final StackFrame stackFrame, final Stack stack, final Heap heap, final Statics statics) {
-      stackFrame.local(var, (int)stackFrame.local(var) + incr);
+      stackFrame.localInt(var, stackFrame.localInt(var) + incr);
    }
 }
@@ -8,12 +8,13 @@ import com.lexicalscope.symb.vm.StackFrame;
 import com.lexicalscope.symb.vm.Statics;
 import com.lexicalscope.symb.vm.Vop;
 import com.lexicalscope.symb.vm.classloader.SClass;
+import com.lexicalscope.symb.vm.classloader.SClassRef;
 
 public class InstanceOfOp implements Vop {
-   private final String klassName;
+   private final SClassRef klass;
 
    public InstanceOfOp(final String klassName) {
-      this.klassName = klassName;
+      this.klass = new SClassRef(klassName);
    }
 
    @Override public void eval(final StackFrame stackFrame, final Stack stack, final Heap heap, final Statics statics) {
@@ -24,7 +25,7 @@ public class InstanceOfOp implements Vop {
       }
 
       final SClass classFromHeap = (SClass) heap.get(address, OBJECT_CLASS_OFFSET);
-      final SClass classFromInstruction = statics.load(klassName);
+      final SClass classFromInstruction = klass.load(statics);
 
       if(classFromHeap.instanceOf(classFromInstruction)) {
          stackFrame.push(1);
@@ -0,0 +1,27 @@
+package com.lexicalscope.symb.vm.instructions.ops;
+
+import com.lexicalscope.symb.vm.Heap;
+import com.lexicalscope.symb.vm.Stack;
+import com.lexicalscope.symb.vm.StackFrame;
+import com.lexicalscope.symb.vm.Statics;
+import com.lexicalscope.symb.vm.Vop;
+
+public class IntBinaryOp implements Vop {
+	private final IntBinaryOperator operator;
+
+	public IntBinaryOp(final IntBinaryOperator operator) {
+		this.operator = operator;
+	}
+
+	@Override public void eval(final StackFrame stackFrame, final Stack stack, final Heap heap, final Statics statics) {
+	   final int right = stackFrame.popInt();
+	   final int left = stackFrame.popInt();
+
+	   stackFrame.pushInt(operator.evalInt(left, right));
+	}
+
+	@Override
+	public String toString() {
+		return operator.toString();
+	}
+}
@@ -0,0 +1,8 @@
+package com.lexicalscope.symb.vm.instructions.ops;
+
+/**
+ * A binary operator over concrete ints, which can be evaluated without boxing
+ */
+public interface IntBinaryOperator extends BinaryOperator {
+	int evalInt(int left, int right);
+}
@@ -8,10 +8,10 @@ import com.lexicalscope.symb.vm.Vop;
 
 public class IshlOp implements Vop {
    @Override public void eval(final StackFrame stackFrame, final Stack stack, final Heap heap, final Statics statics) {
-      final int value2 = (int) stackFrame.pop();
-      final int value1 = (int) stackFrame.pop();
+      final int value2 = stackFrame.popInt();
+      final int value1 = stackFrame.popInt();
 
-      stackFrame.push(value1 << (value2 & 0x1f));
+      stackFrame.pushInt(value1 << (value2 & 0x1f));
    }
 
    @Override public String toString() {
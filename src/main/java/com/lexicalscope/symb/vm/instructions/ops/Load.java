@@ -19,6 +19,6 @@ public class Load implements Vop {
    }
 
    @Override public void eval(final StackFrame stackFrame, Stack stack, final Heap heap, Statics statics) {
-      stackFrame.push(stackFrame.local(var));
+      stackFrame.load(var);
    }
 }
@@ -8,7 +8,7 @@ import com.lexicalscope.symb.vm.Vop;
 
 public class LushrOp implements Vop {
    @Override public void eval(final StackFrame stackFrame, final Stack stack, final Heap heap, final Statics statics) {
-      final int value2 = (int) stackFrame.pop();
+      final int value2 = stackFrame.popInt();
       final long value1 = (long) stackFrame.pop();
 
       stackFrame.push(value1 >>> (value2 & 0x3f));
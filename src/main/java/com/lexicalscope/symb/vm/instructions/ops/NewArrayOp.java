@@ -28,7 +28,7 @@ public class NewArrayOp implements Vop {
             return arrayLength + ARRAY_PREAMBLE;
          }
       });
-      heap.put(arrayAddress, ARRAY_LENGTH_OFFSET, arrayLength);
+      heap.putInt(arrayAddress, ARRAY_LENGTH_OFFSET, arrayLength);
       stackFrame.push(arrayAddress);
    }
 
@@ -8,18 +8,19 @@ import com.lexicalscope.symb.vm.StackFrame;
 import com.lexicalscope.symb.vm.Statics;
 import com.lexicalscope.symb.vm.Vop;
 import com.lexicalscope.symb.vm.classloader.SClass;
+import com.lexicalscope.symb.vm.classloader.SClassRef;
 
 public final class NewOp implements Vop {
-   private final String klassDesc;
+   private final SClassRef klassRef;
 
    public NewOp(final String klassDesc) {
-      this.klassDesc = klassDesc;
+      this.klassRef = new SClassRef(klassDesc);
    }
 
    @Override
    public void eval(final StackFrame stackFrame, final Stack stack, final Heap heap, final Statics statics) {
       // TODO[tim]: linking should remove this
-      final SClass klass = statics.load(klassDesc);
+      final SClass klass = klassRef.load(statics);
       final Object address = heap.newObject(klass);
       heap.put(address, OBJECT_CLASS_OFFSET, klass);
       stackFrame.push(address);
@@ -27,6 +28,6 @@ public final class NewOp implements Vop {
 
    @Override
    public String toString() {
-      return String.format("NEW %s", klassDesc);
+      return String.format("NEW %s", klassRef);
    }
 }
\ No newline at end of file
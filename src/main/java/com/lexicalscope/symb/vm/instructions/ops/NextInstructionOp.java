@@ -2,19 +2,19 @@ package com.lexicalscope.symb.vm.instructions.ops;
 
 import com.lexicalscope.symb.vm.Heap;
 import com.lexicalscope.symb.vm.Stack;
+import com.lexicalscope.symb.vm.StackFrame;
 import com.lexicalscope.symb.vm.Statics;
 import com.lexicalscope.symb.vm.Vop;
-import com.lexicalscope.symb.vm.InstructionNode;
-import com.lexicalscope.symb.vm.StackFrame;
 
+/**
+ * The frame is at the instruction being executed, so one instance serves every instruction.
+ */
 final class NextInstructionOp implements Vop {
-   private final InstructionNode instruction;
+   static final NextInstructionOp NEXT_INSTRUCTION = new NextInstructionOp();
 
-   NextInstructionOp(final InstructionNode instruction) {
-      this.instruction = instruction;
-   }
+   private NextInstructionOp() { }
 
-   @Override public void eval(final StackFrame stackFrame, Stack stack, final Heap heap, Statics statics) {
-      stackFrame.advance(instruction.next());
+   @Override public void eval(final StackFrame stackFrame, final Stack stack, final Heap heap, final Statics statics) {
+      stackFrame.advance(stackFrame.instruction().next());
    }
-}
\ No newline at end of file
+}
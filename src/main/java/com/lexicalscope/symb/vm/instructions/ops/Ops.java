@@ -2,7 +2,6 @@ package com.lexicalscope.symb.vm.instructions.ops;
 
 import org.objectweb.asm.tree.FieldInsnNode;
 
-import com.lexicalscope.symb.vm.InstructionNode;
 import com.lexicalscope.symb.vm.Vop;
 import com.lexicalscope.symb.vm.stackFrameOps.PopOperand;
 
@@ -15,8 +14,8 @@ public final class Ops {
       return new PopOperand();
    }
 
-   public static Vop nextInstruction(final InstructionNode instruction) {
-      return new NextInstructionOp(instruction);
+   public static Vop nextInstruction() {
+      return NextInstructionOp.NEXT_INSTRUCTION;
    }
 
    public static Vop putField(final FieldInsnNode fieldInsnNode) {
@@ -1,38 +1,40 @@
 package com.lexicalscope.symb.vm.instructions.ops;
 
-import static com.lexicalscope.symb.vm.instructions.BaseInstructions.fieldKey;
-
 import org.objectweb.asm.tree.FieldInsnNode;
 
 import com.lexicalscope.symb.vm.Heap;
+import com.lexicalscope.symb.vm.Linkable;
 import com.lexicalscope.symb.vm.Stack;
 import com.lexicalscope.symb.vm.StackFrame;
 import com.lexicalscope.symb.vm.Statics;
 import com.lexicalscope.symb.vm.Vop;
-import com.lexicalscope.symb.vm.classloader.SFieldName;
+import com.lexicalscope.symb.vm.classloader.SClass;
+import com.lexicalscope.symb.vm.classloader.SFieldRef;
+import com.lexicalscope.symb.vm.instructions.BaseInstructions;
 
-final class PutFieldOp implements Vop {
+final class PutFieldOp implements Vop, Linkable {
    private final FieldInsnNode fieldInsnNode;
-   private final SFieldName name;
+   private final SFieldRef field;
 
    public PutFieldOp(final FieldInsnNode fieldInsnNode) {
       this.fieldInsnNode = fieldInsnNode;
-      this.name = new SFieldName(fieldInsnNode.owner, fieldInsnNode.name);
+      this.field = new SFieldRef(fieldInsnNode.owner, fieldInsnNode.name, false);
    }
 
-   @Override
-   public void eval(final StackFrame stackFrame, Stack stack, final Heap heap, final Statics statics) {
-      // TODO[tim]: link should remove this
-      final int offset = statics.load(fieldInsnNode.owner).fieldIndex(name);
+   @Override public void link(final SClass klass) {
+      field.link(klass);
+   }
 
+   @Override
+   public void eval(final StackFrame stackFrame, final Stack stack, final Heap heap, final Statics statics) {
       final Object val = stackFrame.pop();
       final Object obj = stackFrame.pop();
 
-      heap.put(obj, offset, val);
+      heap.put(obj, field.offset(statics), val);
    }
 
    @Override
    public String toString() {
-      return "PUTFIELD " + fieldKey(fieldInsnNode);
+      return "PUTFIELD " + BaseInstructions.fieldKey(fieldInsnNode);
    }
-}
\ No newline at end of file
+}
@@ -19,6 +19,6 @@ public class Store implements Vop {
    }
 
    @Override public void eval(final StackFrame stackFrame, Stack stack, final Heap heap, Statics statics) {
-      stackFrame.local(var, stackFrame.pop());
+      stackFrame.store(var);
    }
 }
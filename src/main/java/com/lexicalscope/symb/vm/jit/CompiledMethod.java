@@ -0,0 +1,19 @@
+package com.lexicalscope.symb.vm.jit;
+
+import com.lexicalscope.symb.vm.Heap;
+import com.lexicalscope.symb.vm.StackFrame;
+import com.lexicalscope.symb.vm.Statics;
+
+/**
+ * A method body compiled to JVM bytecode.
+ */
+public interface CompiledMethod {
+   /**
+    * Pops the arguments from the caller's frame and pushes the result, if
+    * there is one.
+    *
+    * @return false, leaving the frame untouched, if any argument is not a
+    *         concrete int, so the method has to be interpreted
+    */
+   boolean invoke(StackFrame frame, Heap heap, Statics statics);
+}
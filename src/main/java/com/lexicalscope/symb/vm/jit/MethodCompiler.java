@@ -0,0 +1,295 @@
+package com.lexicalscope.symb.vm.jit;
+
+import static org.objectweb.asm.Type.getInternalName;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.objectweb.asm.ClassWriter;
+import org.objectweb.asm.Label;
+import org.objectweb.asm.MethodVisitor;
+import org.objectweb.asm.Opcodes;
+import org.objectweb.asm.Type;
+import org.objectweb.asm.tree.AbstractInsnNode;
+import org.objectweb.asm.tree.FieldInsnNode;
+import org.objectweb.asm.tree.LdcInsnNode;
+import org.objectweb.asm.tree.MethodNode;
+
+import com.lexicalscope.symb.vm.Heap;
+import com.lexicalscope.symb.vm.StackFrame;
+import com.lexicalscope.symb.vm.Statics;
+import com.lexicalscope.symb.vm.classloader.SClass;
+import com.lexicalscope.symb.vm.classloader.SFieldName;
+
+/**
+ * Compiles static methods that only do int arithmetic and branching into
+ * classes that run directly on the caller's {@link StackFrame}. The locals of
+ * the method become JVM locals, so once the arguments are known to be
+ * concrete nothing can become symbolic. Int static fields of the method's own
+ * class are read and written in the heap, because that class is always
+ * defined by the time one of its static methods runs. Anything else stays with
+ * the interpreter.
+ */
+public final class MethodCompiler implements Opcodes {
+   private static final AtomicInteger compiled = new AtomicInteger();
+   private static final String STACK_FRAME = getInternalName(StackFrame.class);
+   private static final String HEAP = getInternalName(Heap.class);
+   private static final String STATICS = getInternalName(Statics.class);
+
+   // this, the frame, the heap, the statics and the address of the class's statics are the first locals of invoke
+   private static final int FRAME = 1;
+   private static final int HEAP_LOCAL = 2;
+   private static final int STATICS_LOCAL = 3;
+   private static final int STATICS_ADDRESS = 4;
+   private static final int LOCALS_OFFSET = 5;
+
+   private final CompiledClassLoader classLoader = new CompiledClassLoader();
+
+   /**
+    * @return the compiled method, or null if the method uses anything the compiler does not support
+    */
+   public CompiledMethod compile(final SClass klass, final MethodNode method) {
+      if(!isCompilable(klass, method)) return null;
+
+      final String name = getInternalName(MethodCompiler.class) + "$Compiled" + compiled.incrementAndGet();
+      try {
+         return (CompiledMethod) classLoader.define(name.replace('/', '.'), generate(name, klass, method)).newInstance();
+      } catch (final InstantiationException | IllegalAccessException e) {
+         throw new RuntimeException("unable to instantiate compiled method " + method.name + method.desc, e);
+      }
+   }
+
+   private static boolean isCompilable(final SClass klass, final MethodNode method) {
+      if((method.access & ACC_STATIC) == 0 || (method.access & (ACC_NATIVE | ACC_ABSTRACT)) != 0) return false;
+      if(!method.tryCatchBlocks.isEmpty()) return false;
+
+      for (final Type argumentType : Type.getArgumentTypes(method.desc)) {
+         if(!isInt(argumentType)) return false;
+      }
+      final Type returnType = Type.getReturnType(method.desc);
+      if(!isInt(returnType) && returnType != Type.VOID_TYPE) return false;
+
+      for (AbstractInsnNode insn = method.instructions.getFirst(); insn != null; insn = insn.getNext()) {
+         if(!isCompilable(klass, insn)) return false;
+      }
+      return true;
+   }
+
+   private static boolean isInt(final Type type) {
+      switch (type.getSort()) {
+         case Type.INT:
+         case Type.BOOLEAN:
+         case Type.BYTE:
+         case Type.SHORT:
+         case Type.CHAR:
+            return true;
+      }
+      return false;
+   }
+
+   // the int instructions that the interpreter also supports
+   private static boolean isCompilable(final SClass klass, final AbstractInsnNode insn) {
+      switch (insn.getOpcode()) {
+         case -1: // labels, line numbers and frames
+         case ILOAD:
+         case ISTORE:
+         case ICONST_M1:
+         case ICONST_0:
+         case ICONST_1:
+         case ICONST_2:
+         case ICONST_3:
+         case ICONST_4:
+         case ICONST_5:
+         case BIPUSH:
+         case SIPUSH:
+         case IADD:
+         case ISUB:
+         case IMUL:
+         case ISHL:
+         case IUSHR:
+         case IOR:
+         case IXOR:
+         case IINC:
+         case DUP:
+         case IFGE:
+         case IFLT:
+         case IFEQ:
+         case IFNE:
+         case IF_ICMPEQ:
+         case IF_ICMPNE:
+         case IF_ICMPLE:
+         case IF_ICMPLT:
+         case IF_ICMPGE:
+         case GOTO:
+         case IRETURN:
+         case RETURN:
+            return true;
+         case LDC:
+            return ((LdcInsnNode) insn).cst instanceof Integer;
+         case GETSTATIC:
+         case PUTSTATIC:
+            return isOwnIntStatic(klass, (FieldInsnNode) insn);
+      }
+      return false;
+   }
+
+   private static boolean isOwnIntStatic(final SClass klass, final FieldInsnNode insn) {
+      return insn.owner.equals(klass.name()) && insn.desc.equals("I") && klass.hasStaticField(new SFieldName(insn.owner, insn.name));
+   }
+
+   private static boolean usesStatics(final MethodNode method) {
+      for (AbstractInsnNode insn = method.instructions.getFirst(); insn != null; insn = insn.getNext()) {
+         if(insn instanceof FieldInsnNode) return true;
+      }
+      return false;
+   }
+
+   private static byte[] generate(final String name, final SClass klass, final MethodNode method) {
+      final ClassWriter cw = new ClassWriter(ClassWriter.COMPUTE_FRAMES);
+      cw.visit(V1_7, ACC_PUBLIC | ACC_FINAL | ACC_SUPER, name, null, "java/lang/Object", new String[]{getInternalName(CompiledMethod.class)});
+
+      final MethodVisitor init = cw.visitMethod(ACC_PUBLIC, "<init>", "()V", null, null);
+      init.visitCode();
+      init.visitVarInsn(ALOAD, 0);
+      init.visitMethodInsn(INVOKESPECIAL, "java/lang/Object", "<init>", "()V");
+      init.visitInsn(RETURN);
+      init.visitMaxs(0, 0);
+      init.visitEnd();
+
+      final MethodVisitor invoke = cw.visitMethod(ACC_PUBLIC, "invoke", "(L" + STACK_FRAME + ";L" + HEAP + ";L" + STATICS + ";)Z", null, null);
+      invoke.visitCode();
+
+      final int argSize = (Type.getArgumentsAndReturnSizes(method.desc) >> 2) - 1;
+      final Label interpret = new Label();
+      for (int depth = 0; depth < argSize; depth++) {
+         invoke.visitVarInsn(ALOAD, FRAME);
+         invoke.visitLdcInsn(depth);
+         invoke.visitMethodInsn(INVOKEVIRTUAL, STACK_FRAME, "isIntAt", "(I)Z");
+         invoke.visitJumpInsn(IFEQ, interpret);
+      }
+      for (int local = argSize - 1; local >= 0; local--) {
+         invoke.visitVarInsn(ALOAD, FRAME);
+         invoke.visitMethodInsn(INVOKEVIRTUAL, STACK_FRAME, "popInt", "()I");
+         invoke.visitVarInsn(ISTORE, local + LOCALS_OFFSET);
+      }
+      if(usesStatics(method)) {
+         invoke.visitVarInsn(ALOAD, STATICS_LOCAL);
+         invoke.visitVarInsn(ALOAD, STATICS_LOCAL);
+         invoke.visitLdcInsn(klass.id());
+         invoke.visitMethodInsn(INVOKEINTERFACE, STATICS, "load", "(I)L" + getInternalName(SClass.class) + ";");
+         invoke.visitMethodInsn(INVOKEINTERFACE, STATICS, "whereMyStaticsAt", "(L" + getInternalName(SClass.class) + ";)Ljava/lang/Object;");
+         invoke.visitVarInsn(ASTORE, STATICS_ADDRESS);
+      }
+
+      method.instructions.accept(new BodyVisitor(invoke, klass));
+
+      invoke.visitLabel(interpret);
+      invoke.visitInsn(ICONST_0);
+      invoke.visitInsn(IRETURN);
+      invoke.visitMaxs(0, 0);
+      invoke.visitEnd();
+
+      cw.visitEnd();
+      return cw.toByteArray();
+   }
+
+   /*
+    * Moves the locals up past those of invoke, turns returns into pushes onto
+    * the caller's frame, and static fields into heap accesses.
+    */
+   private static final class BodyVisitor extends MethodVisitor {
+      // labels belong to the method being compiled, so each compilation gets its own
+      private final Map<Label, Label> labels = new HashMap<>();
+      private final SClass klass;
+
+      BodyVisitor(final MethodVisitor mv, final SClass klass) {
+         super(ASM4, mv);
+         this.klass = klass;
+      }
+
+      private Label label(final Label label) {
+         Label result = labels.get(label);
+         if(result == null) {
+            result = new Label();
+            labels.put(label, result);
+         }
+         return result;
+      }
+
+      @Override public void visitLabel(final Label label) {
+         super.visitLabel(label(label));
+      }
+
+      @Override public void visitJumpInsn(final int opcode, final Label label) {
+         super.visitJumpInsn(opcode, label(label));
+      }
+
+      @Override public void visitVarInsn(final int opcode, final int var) {
+         super.visitVarInsn(opcode, var + LOCALS_OFFSET);
+      }
+
+      @Override public void visitIincInsn(final int var, final int increment) {
+         super.visitIincInsn(var + LOCALS_OFFSET, increment);
+      }
+
+      @Override public void visitFieldInsn(final int opcode, final String owner, final String name, final String desc) {
+         final int offset = klass.staticFieldIndex(new SFieldName(owner, name));
+         switch (opcode) {
+            case GETSTATIC:
+               super.visitVarInsn(ALOAD, HEAP_LOCAL);
+               super.visitVarInsn(ALOAD, STATICS_ADDRESS);
+               super.visitLdcInsn(offset);
+               super.visitMethodInsn(INVOKEINTERFACE, HEAP, "getInt", "(Ljava/lang/Object;I)I");
+               break;
+            case PUTSTATIC:
+               // the value is already on the stack, so swap each argument in under it
+               super.visitVarInsn(ALOAD, HEAP_LOCAL);
+               super.visitInsn(SWAP);
+               super.visitVarInsn(ALOAD, STATICS_ADDRESS);
+               super.visitInsn(SWAP);
+               super.visitLdcInsn(offset);
+               super.visitInsn(SWAP);
+               super.visitMethodInsn(INVOKEINTERFACE, HEAP, "putInt", "(Ljava/lang/Object;II)V");
+               break;
+            default:
+               throw new IllegalStateException("unable to compile field instruction " + opcode);
+         }
+      }
+
+      @Override public void visitInsn(final int opcode) {
+         switch (opcode) {
+            case IRETURN:
+               super.visitVarInsn(ALOAD, FRAME);
+               super.visitInsn(SWAP);
+               super.visitMethodInsn(INVOKEVIRTUAL, STACK_FRAME, "pushInt", "(I)L" + STACK_FRAME + ";");
+               super.visitInsn(POP);
+               super.visitInsn(ICONST_1);
+               super.visitInsn(IRETURN);
+               break;
+            case RETURN:
+               super.visitInsn(ICONST_1);
+               super.visitInsn(IRETURN);
+               break;
+            default:
+               super.visitInsn(opcode);
+         }
+      }
+
+      @Override public void visitFrame(final int type, final int nLocal, final Object[] local, final int nStack, final Object[] stack) {
+         // recomputed by the class writer
+      }
+
+      @Override public void visitLineNumber(final int line, final Label start) { }
+   }
+
+   private static final class CompiledClassLoader extends ClassLoader {
+      CompiledClassLoader() {
+         super(CompiledMethod.class.getClassLoader());
+      }
+
+      Class<?> define(final String name, final byte[] bytes) {
+         return defineClass(name, bytes, 0, bytes.length);
+      }
+   }
+}
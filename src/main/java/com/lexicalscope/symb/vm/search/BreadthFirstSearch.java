@@ -0,0 +1,22 @@
+package com.lexicalscope.symb.vm.search;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+import com.lexicalscope.symb.vm.State;
+
+public final class BreadthFirstSearch implements SearchStrategy {
+   private final Deque<State> pending = new ArrayDeque<>();
+
+   @Override public void pending(final State state) {
+      pending.offer(state);
+   }
+
+   @Override public State next() {
+      return pending.poll();
+   }
+
+   @Override public String toString() {
+      return "BFS";
+   }
+}
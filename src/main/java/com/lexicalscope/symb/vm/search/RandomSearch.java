@@ -0,0 +1,47 @@
+package com.lexicalscope.symb.vm.search;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import com.lexicalscope.symb.vm.State;
+
+/**
+ * Picks a pending state uniformly at random, so no single deep path can starve the others.
+ */
+public final class RandomSearch implements SearchStrategy {
+   private final List<State> pending = new ArrayList<>();
+   private final Random random;
+
+   public RandomSearch(final Random random) {
+      this.random = random;
+   }
+
+   public RandomSearch(final long seed) {
+      this(new Random(seed));
+   }
+
+   public RandomSearch() {
+      this(new Random());
+   }
+
+   @Override public void pending(final State state) {
+      pending.add(state);
+   }
+
+   @Override public State next() {
+      if(pending.isEmpty()) return null;
+
+      // swap the chosen state to the end so removal is cheap
+      final int chosen = random.nextInt(pending.size());
+      final int last = pending.size() - 1;
+      final State result = pending.get(chosen);
+      pending.set(chosen, pending.get(last));
+      pending.remove(last);
+      return result;
+   }
+
+   @Override public String toString() {
+      return "RANDOM";
+   }
+}
@@ -0,0 +1,22 @@
+package com.lexicalscope.symb.vm.search;
+
+import com.lexicalscope.symb.vm.State;
+
+/**
+ * Owns the frontier of states waiting to be explored, and so decides the
+ * order in which paths are explored. The vm only asks for a new state when
+ * the current state terminates or forks.
+ *
+ * @author tim
+ */
+public interface SearchStrategy {
+   /**
+    * @param state a state to be explored later
+    */
+   void pending(State state);
+
+   /**
+    * @return the next state to explore, which is removed from the frontier, or null if there are no pending states
+    */
+   State next();
+}
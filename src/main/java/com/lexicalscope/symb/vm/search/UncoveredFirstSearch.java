@@ -0,0 +1,43 @@
+package com.lexicalscope.symb.vm.search;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.lexicalscope.symb.vm.InstructionNode;
+import com.lexicalscope.symb.vm.Stack;
+import com.lexicalscope.symb.vm.StackOp;
+import com.lexicalscope.symb.vm.State;
+
+/**
+ * Prefers the most recent pending state whose next instruction has not yet
+ * been executed by any state. When every pending state is about to execute
+ * covered code it falls back to depth first.
+ */
+public final class UncoveredFirstSearch implements SearchStrategy {
+   private static final StackOp<InstructionNode> nextInstruction = new StackOp<InstructionNode>() {
+      @Override public InstructionNode eval(final Stack stack) {
+         return stack.instruction();
+      }
+   };
+
+   private final List<State> pending = new ArrayList<>();
+
+   @Override public void pending(final State state) {
+      pending.add(state);
+   }
+
+   @Override public State next() {
+      if(pending.isEmpty()) return null;
+
+      for (int i = pending.size() - 1; i >= 0; i--) {
+         if(!pending.get(i).op(nextInstruction).covered()) {
+            return pending.remove(i);
+         }
+      }
+      return pending.remove(pending.size() - 1);
+   }
+
+   @Override public String toString() {
+      return "UNCOVERED FIRST";
+   }
+}
@@ -0,0 +1,291 @@
+package com.lexicalscope.symb.vm.symbinstructions;
+
+import com.lexicalscope.symb.vm.symbinstructions.symbols.AddSymbol;
+import com.lexicalscope.symb.vm.symbinstructions.symbols.EqSymbol;
+import com.lexicalscope.symb.vm.symbinstructions.symbols.GeSymbol;
+import com.lexicalscope.symb.vm.symbinstructions.symbols.IConstSymbol;
+import com.lexicalscope.symb.vm.symbinstructions.symbols.LtSymbol;
+import com.lexicalscope.symb.vm.symbinstructions.symbols.NotSymbol;
+import com.lexicalscope.symb.vm.symbinstructions.symbols.SubSymbol;
+import com.lexicalscope.symb.vm.symbinstructions.symbols.Symbol;
+import com.lexicalscope.symb.vm.symbinstructions.symbols.SymbolVisitor;
+
+/**
+ * A cheap, incomplete, decision procedure for branch conditions. Bounds are
+ * learnt from the conjuncts of the path condition that compare an expression
+ * with a constant, and propagated through arithmetic as long as the result cannot
+ * overflow. A bound on x+c or x-c, for a constant c, is also a bound on x if
+ * what we already know about x rules out overflow. Anything else is
+ * unbounded.
+ *
+ * The path condition is only read if a condition is not constant. What is
+ * learnt from each conjunct is cached on the path condition, so a branch only
+ * learns from the conjuncts added since the last one.
+ *
+ * @author tim
+ */
+final class IntervalDomain {
+   private static final class Interval {
+      private static final Interval TOP = new Interval(Integer.MIN_VALUE, Integer.MAX_VALUE);
+      private static final Interval NONNEGATIVE = new Interval(0, Integer.MAX_VALUE);
+      private static final Interval NEGATIVE = new Interval(Integer.MIN_VALUE, -1);
+
+      private final long lo;
+      private final long hi;
+
+      private Interval(final long lo, final long hi) {
+         this.lo = lo;
+         this.hi = hi;
+      }
+
+      private static Interval of(final long lo, final long hi) {
+         if(lo < Integer.MIN_VALUE || hi > Integer.MAX_VALUE) return TOP;
+         return new Interval(lo, hi);
+      }
+
+      private Interval meet(final Interval that) {
+         return new Interval(Math.max(this.lo, that.lo), Math.min(this.hi, that.hi));
+      }
+   }
+
+   /**
+    * What has been learnt from a prefix of a path condition. It is a persistent
+    * binary trie on the hash codes of the bounded symbols, so learning from one
+    * more conjunct copies only the paths to the symbols it bounds, and the rest
+    * is shared with the bounds it was learnt from.
+    */
+   static final class Bounds {
+      static final Bounds NONE = new Bounds(null);
+
+      private final Node root;
+
+      private Bounds(final Node root) {
+         this.root = root;
+      }
+
+      /**
+       * @return these bounds, and what can be learnt from one more conjunct
+       */
+      Bounds and(final Symbol conjunct) {
+         return learnCondition(conjunct, true);
+      }
+
+      private Interval get(final Symbol symbol) {
+         final int hash = symbol.hashCode();
+         Node node = root;
+         for (int depth = 0; node != null && node.symbol == null; depth++) {
+            node = bit(hash, depth) ? node.one : node.zero;
+         }
+         for (; node != null; node = node.collision) {
+            if(node.symbol.equals(symbol)) return node.interval;
+         }
+         return null;
+      }
+
+      private Bounds put(final Symbol symbol, final Interval interval) {
+         return new Bounds(Node.put(root, symbol, symbol.hashCode(), 0, interval));
+      }
+
+      private Bounds learnCondition(final Symbol condition, final boolean holds) {
+         if(condition instanceof NotSymbol) {
+            return learnCondition(((NotSymbol) condition).val(), !holds);
+         } else if(condition instanceof GeSymbol) {
+            return learn(((GeSymbol) condition).val(), holds ? Interval.NONNEGATIVE : Interval.NEGATIVE);
+         } else if(condition instanceof LtSymbol) {
+            final Symbol left = ((LtSymbol) condition).left();
+            final Symbol right = ((LtSymbol) condition).right();
+            if(right instanceof IConstSymbol) {
+               final long c = ((IConstSymbol) right).val();
+               return learn(left, holds ? new Interval(Integer.MIN_VALUE, c - 1) : new Interval(c, Integer.MAX_VALUE));
+            } else if(left instanceof IConstSymbol) {
+               final long c = ((IConstSymbol) left).val();
+               return learn(right, holds ? new Interval(c + 1, Integer.MAX_VALUE) : new Interval(Integer.MIN_VALUE, c));
+            }
+         } else if(condition instanceof EqSymbol && holds) {
+            final Symbol left = ((EqSymbol) condition).left();
+            final Symbol right = ((EqSymbol) condition).right();
+            if(right instanceof IConstSymbol) {
+               return learn(left, new Interval(((IConstSymbol) right).val(), ((IConstSymbol) right).val()));
+            } else if(left instanceof IConstSymbol) {
+               return learn(right, new Interval(((IConstSymbol) left).val(), ((IConstSymbol) left).val()));
+            }
+         }
+         return this;
+      }
+
+      private Bounds learn(final Symbol symbol, final Interval interval) {
+         final Interval previous = get(symbol);
+         final Bounds result = put(symbol, previous == null ? interval : previous.meet(interval));
+
+         if(symbol instanceof AddSymbol && ((AddSymbol) symbol).right() instanceof IConstSymbol) {
+            return result.learnOperand(((AddSymbol) symbol).left(), ((IConstSymbol) ((AddSymbol) symbol).right()).val(), interval);
+         } else if(symbol instanceof SubSymbol && ((SubSymbol) symbol).right() instanceof IConstSymbol) {
+            return result.learnOperand(((SubSymbol) symbol).left(), -(long) ((IConstSymbol) ((SubSymbol) symbol).right()).val(), interval);
+         }
+         return result;
+      }
+
+      private Bounds learnOperand(final Symbol operand, final long offset, final Interval sum) {
+         final Interval previous = get(operand);
+         final Interval operandInterval = previous == null ? Interval.TOP : previous;
+         if(Interval.of(operandInterval.lo + offset, operandInterval.hi + offset) != Interval.TOP) {
+            return learn(operand, new Interval(sum.lo - offset, sum.hi - offset));
+         }
+         return this;
+      }
+
+      private static boolean bit(final int hash, final int depth) {
+         return (hash >>> depth & 1) != 0;
+      }
+   }
+
+   /**
+    * Either a branch, with a null symbol, or a leaf holding the bounds of the
+    * symbols with one hash code.
+    */
+   private static final class Node {
+      private final Node zero;
+      private final Node one;
+      private final Symbol symbol;
+      private final Interval interval;
+      private final Node collision;
+
+      private Node(final Node zero, final Node one) {
+         this(zero, one, null, null, null);
+      }
+
+      private Node(final Symbol symbol, final Interval interval, final Node collision) {
+         this(null, null, symbol, interval, collision);
+      }
+
+      private Node(final Node zero, final Node one, final Symbol symbol, final Interval interval, final Node collision) {
+         this.zero = zero;
+         this.one = one;
+         this.symbol = symbol;
+         this.interval = interval;
+         this.collision = collision;
+      }
+
+      private static Node put(final Node node, final Symbol symbol, final int hash, final int depth, final Interval interval) {
+         if(node == null) {
+            return new Node(symbol, interval, null);
+         }
+         if(node.symbol == null) {
+            return Bounds.bit(hash, depth)
+                  ? new Node(node.zero, put(node.one, symbol, hash, depth + 1, interval))
+                  : new Node(put(node.zero, symbol, hash, depth + 1, interval), node.one);
+         }
+
+         final int leafHash = node.symbol.hashCode();
+         if(leafHash == hash) {
+            return new Node(symbol, interval, remove(node, symbol));
+         }
+         // split the leaf until the hash codes differ
+         final Node branch = Bounds.bit(leafHash, depth) ? new Node(null, node) : new Node(node, null);
+         return put(branch, symbol, hash, depth, interval);
+      }
+
+      private static Node remove(final Node leaf, final Symbol symbol) {
+         if(leaf == null) return null;
+         if(leaf.symbol.equals(symbol)) return leaf.collision;
+         return new Node(leaf.symbol, leaf.interval, remove(leaf.collision, symbol));
+      }
+   }
+
+   private final Pc pc;
+   private Bounds known;
+
+   public IntervalDomain(final Pc pc) {
+      this.pc = pc;
+   }
+
+   /**
+    * @return true if the path condition implies the condition, false if it
+    *         refutes it, or null if that is not cheaply decided
+    */
+   public Boolean decide(final Symbol condition) {
+      if(condition instanceof NotSymbol) {
+         final Boolean decided = decide(((NotSymbol) condition).val());
+         return decided == null ? null : !decided;
+      }
+      if(condition instanceof GeSymbol) {
+         final Interval interval = interval(((GeSymbol) condition).val());
+         if(interval.lo >= 0) return true;
+         if(interval.hi < 0) return false;
+      } else if(condition instanceof LtSymbol) {
+         final Interval left = interval(((LtSymbol) condition).left());
+         final Interval right = interval(((LtSymbol) condition).right());
+         if(left.hi < right.lo) return true;
+         if(left.lo >= right.hi) return false;
+      } else if(condition instanceof EqSymbol) {
+         final Interval left = interval(((EqSymbol) condition).left());
+         final Interval right = interval(((EqSymbol) condition).right());
+         if(left.lo == left.hi && right.lo == right.hi && left.lo == right.lo) return true;
+         if(left.hi < right.lo || right.hi < left.lo) return false;
+      }
+      return null;
+   }
+
+   private Interval interval(final Symbol symbol) {
+      if(symbol instanceof IConstSymbol) {
+         final int val = ((IConstSymbol) symbol).val();
+         return new Interval(val, val);
+      }
+
+      final Interval computed = symbol.accept(propagate);
+      final Interval learnt = known().get(symbol);
+      return learnt == null ? computed : learnt.meet(computed);
+   }
+
+   private Bounds known() {
+      if(known == null) {
+         known = pc.bounds();
+      }
+      return known;
+   }
+
+   private final SymbolVisitor<Interval, RuntimeException> propagate = new SymbolVisitor<Interval, RuntimeException>() {
+      @Override public Interval add(final Symbol left, final Symbol right) {
+         final Interval l = interval(left);
+         final Interval r = interval(right);
+         return Interval.of(l.lo + r.lo, l.hi + r.hi);
+      }
+
+      @Override public Interval sub(final Symbol left, final Symbol right) {
+         final Interval l = interval(left);
+         final Interval r = interval(right);
+         return Interval.of(l.lo - r.hi, l.hi - r.lo);
+      }
+
+      @Override public Interval mul(final Symbol left, final Symbol right) {
+         final Interval l = interval(left);
+         final Interval r = interval(right);
+         final long a = l.lo * r.lo, b = l.lo * r.hi, c = l.hi * r.lo, d = l.hi * r.hi;
+         return Interval.of(Math.min(Math.min(a, b), Math.min(c, d)), Math.max(Math.max(a, b), Math.max(c, d)));
+      }
+
+      @Override public Interval constant(final int val) {
+         return new Interval(val, val);
+      }
+
+      @Override public Interval ge(final Symbol val) {
+         return Interval.TOP;
+      }
+
+      @Override public Interval lt(final Symbol left, final Symbol right) {
+         return Interval.TOP;
+      }
+
+      @Override public Interval eq(final Symbol left, final Symbol right) {
+         return Interval.TOP;
+      }
+
+      @Override public Interval not(final Symbol val) {
+         return Interval.TOP;
+      }
+
+      @Override public Interval intSymbol(final int name) {
+         return Interval.TOP;
+      }
+   };
+}
@@ -1,44 +1,100 @@
 package com.lexicalscope.symb.vm.symbinstructions;
 
-import java.util.ArrayList;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
 import java.util.List;
 
 import com.google.common.base.Joiner;
 import com.lexicalscope.symb.vm.Snapshotable;
 import com.lexicalscope.symb.vm.symbinstructions.symbols.Symbol;
 
+/**
+ * The conjuncts are held in an immutable linked list, newest first, so that
+ * path conditions forked from the same state share all of the conjuncts they
+ * had at the fork. Taking a snapshot and adding a conjunct are both constant
+ * time. The newest conjunct of a path condition that a branch was decided
+ * on also caches what the interval domain learnt up to and including it.
+ */
 public class Pc implements Snapshotable<Pc> {
-   private final List<Symbol> conjunction;
+   private static final class Conjunct {
+      private final Symbol symbol;
+      private final Conjunct previous;
+      private final int size;
+      // racy but safe, the bounds are immutable and learnt the same way by any thread
+      private IntervalDomain.Bounds bounds;
 
-   public Pc(final ArrayList<Symbol> conjunction) {
-      this.conjunction = conjunction;
+      private Conjunct(final Symbol symbol, final Conjunct previous) {
+         this.symbol = symbol;
+         this.previous = previous;
+         this.size = previous == null ? 1 : previous.size + 1;
+      }
+   }
+
+   private Conjunct last;
+
+   private Pc(final Conjunct last) {
+      this.last = last;
    }
 
    public Pc() {
-      this(new ArrayList<Symbol>());
+      this(null);
    }
 
    public Pc and(final Symbol symbol) {
-      conjunction.add(symbol);
+      last = new Conjunct(symbol, last);
       return this;
    }
 
    @Override
    public Pc snapshot() {
-      // we only change the path condition at fork points.
-      // so we should be able to do better than this.
-      // probably Pc should be immutable.
-      return new Pc(new ArrayList<>(conjunction));
+      return new Pc(last);
    }
 
    public <T, E extends Throwable> T accept(final PcVisitor<T, E> visitor) throws E {
-      return visitor.conjunction(conjunction);
+      return visitor.conjunction(conjunction());
+   }
+
+   /**
+    * Learns from the conjuncts added since the newest one that has bounds,
+    * and caches the result on the newest conjunct only.
+    *
+    * @return the bounds learnt from the conjuncts, shared with every fork of
+    *         this path condition
+    */
+   IntervalDomain.Bounds bounds() {
+      if(last == null) return IntervalDomain.Bounds.NONE;
+      if(last.bounds != null) return last.bounds;
+
+      final Deque<Symbol> unlearnt = new ArrayDeque<>();
+      Conjunct conjunct = last;
+      while(conjunct != null && conjunct.bounds == null) {
+         unlearnt.push(conjunct.symbol);
+         conjunct = conjunct.previous;
+      }
+
+      IntervalDomain.Bounds result = conjunct == null ? IntervalDomain.Bounds.NONE : conjunct.bounds;
+      while(!unlearnt.isEmpty()) {
+         result = result.and(unlearnt.pop());
+      }
+      last.bounds = result;
+      return result;
+   }
+
+   private List<Symbol> conjunction() {
+      if(last == null) return Arrays.asList();
+
+      final Symbol[] result = new Symbol[last.size];
+      for (Conjunct conjunct = last; conjunct != null; conjunct = conjunct.previous) {
+         result[conjunct.size - 1] = conjunct.symbol;
+      }
+      return Arrays.asList(result);
    }
 
    private static final Joiner conjJoiner = Joiner.on(" ");
 
    @Override
    public String toString() {
-      return String.format("(AND %s)", conjJoiner.join(conjunction));
+      return String.format("(AND %s)", conjJoiner.join(conjunction()));
    }
 }
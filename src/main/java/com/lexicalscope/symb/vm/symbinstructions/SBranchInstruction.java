@@ -1,71 +1,165 @@
 package com.lexicalscope.symb.vm.symbinstructions;
 
-import static com.lexicalscope.symb.vm.instructions.ops.Ops.popOperand;
-
+import com.lexicalscope.symb.vm.Explorer;
 import com.lexicalscope.symb.vm.Heap;
 import com.lexicalscope.symb.vm.Instruction;
 import com.lexicalscope.symb.vm.InstructionNode;
+import com.lexicalscope.symb.vm.Op;
 import com.lexicalscope.symb.vm.Stack;
 import com.lexicalscope.symb.vm.StackFrame;
 import com.lexicalscope.symb.vm.State;
 import com.lexicalscope.symb.vm.Statics;
-import com.lexicalscope.symb.vm.Vm;
 import com.lexicalscope.symb.vm.Vop;
-import com.lexicalscope.symb.vm.symbinstructions.symbols.GeSymbol;
-import com.lexicalscope.symb.vm.symbinstructions.symbols.NotSymbol;
 import com.lexicalscope.symb.vm.symbinstructions.symbols.Symbol;
+import com.lexicalscope.symb.vm.symbinstructions.symbols.SymbolFactory;
 import com.lexicalscope.symb.z3.FeasibilityChecker;
 
+/**
+ * One instruction for every conditional branch, the condition under which
+ * the branch jumps is given by a {@link SBranchStrategy}.
+ */
 final class SBranchInstruction implements Instruction {
    public interface SBranchStrategy {
-      GeSymbol conditionSymbol(Symbol operand);
+      /**
+       * Pops the operands of the branch.
+       *
+       * @return the condition under which the branch jumps
+       */
+      Symbol jumpCondition(SymbolFactory symbolFactory, StackFrame stackFrame, Heap heap);
    }
 
-   private static final class GeStrategy implements SBranchStrategy {
-      @Override public GeSymbol conditionSymbol(final Symbol operand) {
-         return new GeSymbol(operand);
+   private enum Condition implements SBranchStrategy {
+      IFGE {
+         @Override public Symbol jumpCondition(final SymbolFactory symbolFactory, final StackFrame stackFrame, final Heap heap) {
+            return symbolFactory.ge((Symbol) stackFrame.pop());
+         }
+      },
+      IFLT {
+         @Override public Symbol jumpCondition(final SymbolFactory symbolFactory, final StackFrame stackFrame, final Heap heap) {
+            return symbolFactory.not(symbolFactory.ge((Symbol) stackFrame.pop()));
+         }
+      },
+      IFEQ {
+         @Override public Symbol jumpCondition(final SymbolFactory symbolFactory, final StackFrame stackFrame, final Heap heap) {
+            return symbolFactory.eq((Symbol) stackFrame.pop(), symbolFactory.constant(0));
+         }
+      },
+      IFNE {
+         @Override public Symbol jumpCondition(final SymbolFactory symbolFactory, final StackFrame stackFrame, final Heap heap) {
+            return symbolFactory.not(symbolFactory.eq((Symbol) stackFrame.pop(), symbolFactory.constant(0)));
+         }
+      },
+      IF_ICMPEQ {
+         @Override public Symbol jumpCondition(final SymbolFactory symbolFactory, final StackFrame stackFrame, final Heap heap) {
+            final Symbol value2 = (Symbol) stackFrame.pop();
+            final Symbol value1 = (Symbol) stackFrame.pop();
+            return symbolFactory.eq(value1, value2);
+         }
+      },
+      IF_ICMPNE {
+         @Override public Symbol jumpCondition(final SymbolFactory symbolFactory, final StackFrame stackFrame, final Heap heap) {
+            final Symbol value2 = (Symbol) stackFrame.pop();
+            final Symbol value1 = (Symbol) stackFrame.pop();
+            return symbolFactory.not(symbolFactory.eq(value1, value2));
+         }
+      },
+      IF_ICMPLT {
+         @Override public Symbol jumpCondition(final SymbolFactory symbolFactory, final StackFrame stackFrame, final Heap heap) {
+            final Symbol value2 = (Symbol) stackFrame.pop();
+            final Symbol value1 = (Symbol) stackFrame.pop();
+            return symbolFactory.lt(value1, value2);
+         }
+      },
+      IF_ICMPGE {
+         @Override public Symbol jumpCondition(final SymbolFactory symbolFactory, final StackFrame stackFrame, final Heap heap) {
+            final Symbol value2 = (Symbol) stackFrame.pop();
+            final Symbol value1 = (Symbol) stackFrame.pop();
+            return symbolFactory.not(symbolFactory.lt(value1, value2));
+         }
+      },
+      IF_ICMPLE {
+         @Override public Symbol jumpCondition(final SymbolFactory symbolFactory, final StackFrame stackFrame, final Heap heap) {
+            final Symbol value2 = (Symbol) stackFrame.pop();
+            final Symbol value1 = (Symbol) stackFrame.pop();
+            return symbolFactory.not(symbolFactory.lt(value2, value1));
+         }
+      },
+      // references are never symbolic, so these are decided concretely
+      IF_ACMPEQ {
+         @Override public Symbol jumpCondition(final SymbolFactory symbolFactory, final StackFrame stackFrame, final Heap heap) {
+            final Object value2 = stackFrame.pop();
+            final Object value1 = stackFrame.pop();
+            return symbolFactory.truth(value1.equals(value2));
+         }
+      },
+      IF_ACMPNE {
+         @Override public Symbol jumpCondition(final SymbolFactory symbolFactory, final StackFrame stackFrame, final Heap heap) {
+            final Object value2 = stackFrame.pop();
+            final Object value1 = stackFrame.pop();
+            return symbolFactory.truth(!value1.equals(value2));
+         }
+      },
+      IFNONNULL {
+         @Override public Symbol jumpCondition(final SymbolFactory symbolFactory, final StackFrame stackFrame, final Heap heap) {
+            return symbolFactory.truth(!stackFrame.pop().equals(heap.nullPointer()));
+         }
+      },
+      GOTO {
+         @Override public Symbol jumpCondition(final SymbolFactory symbolFactory, final StackFrame stackFrame, final Heap heap) {
+            return symbolFactory.truth(true);
+         }
+      };
+   }
+
+   // the frame is still at the branch when these run
+   private static final Vop jumpOp = new Vop() {
+      @Override public void eval(final StackFrame stackFrame, final Stack stack, final Heap heap, final Statics statics) {
+         stackFrame.advance(stackFrame.instruction().jmpTarget());
       }
+   };
 
-      @Override public String toString() {
-         return "IFGE";
+   private static final Vop nojumpOp = new Vop() {
+      @Override public void eval(final StackFrame stackFrame, final Stack stack, final Heap heap, final Statics statics) {
+         stackFrame.advance(stackFrame.instruction().next());
       }
-   }
+   };
 
    private final FeasibilityChecker feasibilityChecker;
+   private final SymbolFactory symbolFactory;
    private final SBranchStrategy branchStrategy;
+   private final Op<Symbol> jumpCondition = new Op<Symbol>() {
+      @Override public Symbol eval(final StackFrame stackFrame, final Stack stack, final Heap heap, final Statics statics) {
+         return branchStrategy.jumpCondition(symbolFactory, stackFrame, heap);
+      }
+   };
 
    SBranchInstruction(
          final FeasibilityChecker feasibilityChecker,
+         final SymbolFactory symbolFactory,
          final SBranchStrategy branchStrategy
          ) {
       this.feasibilityChecker = feasibilityChecker;
+      this.symbolFactory = symbolFactory;
       this.branchStrategy = branchStrategy;
    }
 
    @Override
-   public void eval(final Vm vm, final State state, final InstructionNode instruction) {
+   public void eval(final Explorer explorer, final State state, final InstructionNode instruction) {
       final Pc pc = (Pc) state.getMeta();
-      final Symbol operand = (Symbol) state.op(popOperand());
-
-      final GeSymbol jumpSymbol = branchStrategy.conditionSymbol(operand);
-      final Pc jumpPc = pc.snapshot().and(jumpSymbol);
-      final boolean jumpFeasible = feasibilityChecker.check(jumpPc);
-
-      final NotSymbol nojumpSymbol = new NotSymbol(jumpSymbol);
-      final Pc nojumpPc = pc.snapshot().and(nojumpSymbol);
-      final boolean nojumpFeasible = feasibilityChecker.check(nojumpPc);
-
-      final Vop jumpOp = new Vop() {
-         @Override public void eval(final StackFrame stackFrame, Stack stack, final Heap heap, Statics statics) {
-            stackFrame.advance(instruction.jmpTarget());
-         }
-      };
-
-      final Vop nojumpOp = new Vop() {
-         @Override public void eval(final StackFrame stackFrame, Stack stack, final Heap heap, Statics statics) {
-            stackFrame.advance(instruction.next());
-         }
-      };
+      final Symbol jumpSymbol = state.op(jumpCondition);
+      final Symbol nojumpSymbol = symbolFactory.not(jumpSymbol);
+
+      final boolean jumpFeasible;
+      final boolean nojumpFeasible;
+      final Boolean decided = new IntervalDomain(pc).decide(jumpSymbol);
+      if(decided != null) {
+         jumpFeasible = decided;
+         nojumpFeasible = !decided;
+      } else {
+         jumpFeasible = feasibilityChecker.check(pc.snapshot().and(jumpSymbol));
+         // the path condition is satisfiable, so if jumping is infeasible then not jumping is feasible
+         nojumpFeasible = !jumpFeasible || feasibilityChecker.check(pc.snapshot().and(nojumpSymbol));
+      }
 
       if(jumpFeasible && nojumpFeasible)
       {
@@ -79,7 +173,7 @@ final class SBranchInstruction implements Instruction {
          ((Pc) states[1].getMeta()).and(nojumpSymbol);
          states[1].op(nojumpOp);
 
-         vm.fork(states);
+         explorer.fork(states);
       } else if(jumpFeasible) {
          state.op(jumpOp);
       } else if(nojumpFeasible) {
@@ -94,7 +188,55 @@ final class SBranchInstruction implements Instruction {
       return branchStrategy.toString();
    }
 
-   public static Instruction geInstruction(final FeasibilityChecker feasibilityChecker) {
-      return new SBranchInstruction(feasibilityChecker, new GeStrategy());
+   public static Instruction geInstruction(final FeasibilityChecker feasibilityChecker, final SymbolFactory symbolFactory) {
+      return new SBranchInstruction(feasibilityChecker, symbolFactory, Condition.IFGE);
+   }
+
+   public static Instruction ltInstruction(final FeasibilityChecker feasibilityChecker, final SymbolFactory symbolFactory) {
+      return new SBranchInstruction(feasibilityChecker, symbolFactory, Condition.IFLT);
+   }
+
+   public static Instruction eqInstruction(final FeasibilityChecker feasibilityChecker, final SymbolFactory symbolFactory) {
+      return new SBranchInstruction(feasibilityChecker, symbolFactory, Condition.IFEQ);
+   }
+
+   public static Instruction neInstruction(final FeasibilityChecker feasibilityChecker, final SymbolFactory symbolFactory) {
+      return new SBranchInstruction(feasibilityChecker, symbolFactory, Condition.IFNE);
+   }
+
+   public static Instruction icmpEqInstruction(final FeasibilityChecker feasibilityChecker, final SymbolFactory symbolFactory) {
+      return new SBranchInstruction(feasibilityChecker, symbolFactory, Condition.IF_ICMPEQ);
+   }
+
+   public static Instruction icmpNeInstruction(final FeasibilityChecker feasibilityChecker, final SymbolFactory symbolFactory) {
+      return new SBranchInstruction(feasibilityChecker, symbolFactory, Condition.IF_ICMPNE);
+   }
+
+   public static Instruction icmpLtInstruction(final FeasibilityChecker feasibilityChecker, final SymbolFactory symbolFactory) {
+      return new SBranchInstruction(feasibilityChecker, symbolFactory, Condition.IF_ICMPLT);
+   }
+
+   public static Instruction icmpGeInstruction(final FeasibilityChecker feasibilityChecker, final SymbolFactory symbolFactory) {
+      return new SBranchInstruction(feasibilityChecker, symbolFactory, Condition.IF_ICMPGE);
+   }
+
+   public static Instruction icmpLeInstruction(final FeasibilityChecker feasibilityChecker, final SymbolFactory symbolFactory) {
+      return new SBranchInstruction(feasibilityChecker, symbolFactory, Condition.IF_ICMPLE);
+   }
+
+   public static Instruction acmpEqInstruction(final FeasibilityChecker feasibilityChecker, final SymbolFactory symbolFactory) {
+      return new SBranchInstruction(feasibilityChecker, symbolFactory, Condition.IF_ACMPEQ);
+   }
+
+   public static Instruction acmpNeInstruction(final FeasibilityChecker feasibilityChecker, final SymbolFactory symbolFactory) {
+      return new SBranchInstruction(feasibilityChecker, symbolFactory, Condition.IF_ACMPNE);
+   }
+
+   public static Instruction nonNullInstruction(final FeasibilityChecker feasibilityChecker, final SymbolFactory symbolFactory) {
+      return new SBranchInstruction(feasibilityChecker, symbolFactory, Condition.IFNONNULL);
+   }
+
+   public static Instruction gotoInstruction(final FeasibilityChecker feasibilityChecker, final SymbolFactory symbolFactory) {
+      return new SBranchInstruction(feasibilityChecker, symbolFactory, Condition.GOTO);
    }
-}
\ No newline at end of file
+}
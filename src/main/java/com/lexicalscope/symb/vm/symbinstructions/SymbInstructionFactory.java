@@ -1,100 +1,110 @@
 package com.lexicalscope.symb.vm.symbinstructions;
 
+import java.io.Closeable;
+import java.util.concurrent.atomic.AtomicInteger;
+
 import org.objectweb.asm.tree.JumpInsnNode;
+import org.objectweb.asm.tree.MethodNode;
 
 import com.lexicalscope.symb.vm.Instruction;
 import com.lexicalscope.symb.vm.Snapshotable;
 import com.lexicalscope.symb.vm.Vop;
+import com.lexicalscope.symb.vm.classloader.SClass;
 import com.lexicalscope.symb.vm.instructions.InstructionFactory;
 import com.lexicalscope.symb.vm.instructions.ops.BinaryOperator;
 import com.lexicalscope.symb.vm.instructions.ops.NullaryOperator;
+import com.lexicalscope.symb.vm.jit.CompiledMethod;
 import com.lexicalscope.symb.vm.symbinstructions.ops.SIAddOperator;
 import com.lexicalscope.symb.vm.symbinstructions.ops.SIConstOperator;
 import com.lexicalscope.symb.vm.symbinstructions.ops.SIMulOperator;
 import com.lexicalscope.symb.vm.symbinstructions.ops.SISubOperator;
-import com.lexicalscope.symb.vm.symbinstructions.symbols.ISymbol;
 import com.lexicalscope.symb.vm.symbinstructions.symbols.Symbol;
+import com.lexicalscope.symb.vm.symbinstructions.symbols.SymbolFactory;
 import com.lexicalscope.symb.z3.FeasibilityChecker;
 
 /**
+ * Owns a z3 context through its feasibility checker, so close it when
+ * finished with.
+ *
  * @author tim
  */
-public class SymbInstructionFactory implements InstructionFactory {
+public class SymbInstructionFactory implements InstructionFactory, Closeable {
 	final FeasibilityChecker feasibilityChecker = new FeasibilityChecker();
-   private int symbol = -1;
+   private final AtomicInteger symbol = new AtomicInteger(-1);
+   private final SymbolFactory symbolFactory = new SymbolFactory();
 
 	@Override
 	public BinaryOperator iaddOperation() {
-		return new SIAddOperator();
+		return new SIAddOperator(symbolFactory);
 	}
 
 	@Override
 	public BinaryOperator imulOperation() {
-	   return new SIMulOperator();
+	   return new SIMulOperator(symbolFactory);
 	}
 
    @Override
    public BinaryOperator isubOperation() {
-      return new SISubOperator();
+      return new SISubOperator(symbolFactory);
    }
 
 	public Symbol symbol() {
-		return new ISymbol(++symbol);
+		return symbolFactory.intSymbol(symbol.incrementAndGet());
 	}
 
 	@Override
 	public Instruction branchIfGe(final JumpInsnNode jumpInsnNode) {
-		return SBranchInstruction.geInstruction(feasibilityChecker);
+		return SBranchInstruction.geInstruction(feasibilityChecker, symbolFactory);
 	}
 
    @Override
    public Instruction branchIfLt(final JumpInsnNode jumpInsnNode) {
-      throw new UnsupportedOperationException("not implemented yet");
+      return SBranchInstruction.ltInstruction(feasibilityChecker, symbolFactory);
    }
 
    @Override public Instruction branchIfNe(final JumpInsnNode jumpInsnNode) {
-      throw new UnsupportedOperationException("not implemented yet");
+      return SBranchInstruction.neInstruction(feasibilityChecker, symbolFactory);
    }
 
    @Override public Instruction branchIfEq(final JumpInsnNode jumpInsnNode) {
-      throw new UnsupportedOperationException("not implemented yet");
+      return SBranchInstruction.eqInstruction(feasibilityChecker, symbolFactory);
    }
 
    @Override public Instruction branchGoto(final JumpInsnNode jumpInsnNode) {
-      throw new UnsupportedOperationException("not implemented yet");
+      return SBranchInstruction.gotoInstruction(feasibilityChecker, symbolFactory);
    }
 
    @Override public Instruction branchIfICmpEq(final JumpInsnNode jumpInsnNode) {
-      throw new UnsupportedOperationException("not implemented yet");
+      return SBranchInstruction.icmpEqInstruction(feasibilityChecker, symbolFactory);
    }
 
    @Override public Instruction branchIfICmpNe(final JumpInsnNode jumpInsnNode) {
-      throw new UnsupportedOperationException("not implemented yet");
+      return SBranchInstruction.icmpNeInstruction(feasibilityChecker, symbolFactory);
    }
 
    @Override public Instruction branchIfICmpLe(final JumpInsnNode jumpInsnNode) {
-      throw new UnsupportedOperationException("not implemented yet");
+      return SBranchInstruction.icmpLeInstruction(feasibilityChecker, symbolFactory);
    }
 
    @Override public Instruction branchIfICmpGe(final JumpInsnNode jumpInsnNode) {
-      throw new UnsupportedOperationException("not implemented yet");
+      return SBranchInstruction.icmpGeInstruction(feasibilityChecker, symbolFactory);
    }
 
    @Override public Instruction branchIfICmpLt(final JumpInsnNode jumpInsnNode) {
-      throw new UnsupportedOperationException("not implemented yet");
+      return SBranchInstruction.icmpLtInstruction(feasibilityChecker, symbolFactory);
    }
 
    @Override public Instruction branchIfACmpEq(final JumpInsnNode jumpInsnNode) {
-      throw new UnsupportedOperationException("not implemented yet");
+      return SBranchInstruction.acmpEqInstruction(feasibilityChecker, symbolFactory);
    }
 
    @Override public Instruction branchIfACmpNe(final JumpInsnNode jumpInsnNode) {
-      throw new UnsupportedOperationException("not implemented yet");
+      return SBranchInstruction.acmpNeInstruction(feasibilityChecker, symbolFactory);
    }
 
 	@Override
 	public NullaryOperator iconst(final int val) {
-		return new SIConstOperator(val);
+		return new SIConstOperator(symbolFactory, val);
 	}
 
 	@Override public NullaryOperator lconst(final long val) {
@@ -114,7 +124,16 @@ public class SymbInstructionFactory implements InstructionFactory {
       return new Pc();
    }
 
+   @Override public CompiledMethod compile(final SClass klass, final MethodNode method) {
+      // ints are symbols here, even the constant ones, so everything is interpreted
+      return null;
+   }
+
    @Override public Instruction branchIfNonNull(final JumpInsnNode jumpInsnNode) {
-      throw new UnsupportedOperationException("unable to handle symbolic object yet");
+      return SBranchInstruction.nonNullInstruction(feasibilityChecker, symbolFactory);
+   }
+
+   @Override public void close() {
+      feasibilityChecker.close();
    }
 }
@@ -1,13 +1,19 @@
 package com.lexicalscope.symb.vm.symbinstructions.ops;
 
 import com.lexicalscope.symb.vm.instructions.ops.BinaryOperator;
-import com.lexicalscope.symb.vm.symbinstructions.symbols.AddSymbol;
 import com.lexicalscope.symb.vm.symbinstructions.symbols.Symbol;
+import com.lexicalscope.symb.vm.symbinstructions.symbols.SymbolFactory;
 
 public class SIAddOperator implements BinaryOperator {
+	private final SymbolFactory symbolFactory;
+
+	public SIAddOperator(final SymbolFactory symbolFactory) {
+		this.symbolFactory = symbolFactory;
+	}
+
 	@Override
 	public Object eval(Object left, Object right) {
-		return new AddSymbol((Symbol) left, (Symbol)right);
+		return symbolFactory.add((Symbol) left, (Symbol) right);
 	}
 
 	@Override
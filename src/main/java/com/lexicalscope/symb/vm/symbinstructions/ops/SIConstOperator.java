@@ -2,12 +2,13 @@ package com.lexicalscope.symb.vm.symbinstructions.ops;
 
 import com.lexicalscope.symb.vm.instructions.ops.NullaryOperator;
 import com.lexicalscope.symb.vm.symbinstructions.symbols.IConstSymbol;
+import com.lexicalscope.symb.vm.symbinstructions.symbols.SymbolFactory;
 
 public final class SIConstOperator implements NullaryOperator {
    private final IConstSymbol val;
 
-   public SIConstOperator(final int val) {
-      this.val = new IConstSymbol(val);
+   public SIConstOperator(final SymbolFactory symbolFactory, final int val) {
+      this.val = symbolFactory.constant(val);
    }
 
    @Override
@@ -1,13 +1,19 @@
 package com.lexicalscope.symb.vm.symbinstructions.ops;
 
 import com.lexicalscope.symb.vm.instructions.ops.BinaryOperator;
-import com.lexicalscope.symb.vm.symbinstructions.symbols.MulSymbol;
 import com.lexicalscope.symb.vm.symbinstructions.symbols.Symbol;
+import com.lexicalscope.symb.vm.symbinstructions.symbols.SymbolFactory;
 
 public class SIMulOperator implements BinaryOperator {
+	private final SymbolFactory symbolFactory;
+
+	public SIMulOperator(final SymbolFactory symbolFactory) {
+		this.symbolFactory = symbolFactory;
+	}
+
 	@Override
 	public Object eval(final Object left, final Object right) {
-		return new MulSymbol((Symbol) left, (Symbol)right);
+		return symbolFactory.mul((Symbol) left, (Symbol) right);
 	}
 
 	@Override
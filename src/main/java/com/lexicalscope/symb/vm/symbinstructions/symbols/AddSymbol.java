@@ -5,22 +5,33 @@ package com.lexicalscope.symb.vm.symbinstructions.symbols;
 public class AddSymbol implements Symbol {
 	private final Symbol left;
 	private final Symbol right;
+	private final int hashCode;
 
 	public AddSymbol(final Symbol left, final Symbol right) {
 		this.left = left;
 		this.right = right;
+		this.hashCode = 31 * (31 * 1 + left.hashCode()) + right.hashCode();
+	}
+
+	public Symbol left() {
+		return left;
+	}
+
+	public Symbol right() {
+		return right;
 	}
 
 	@Override
 	public int hashCode() {
-		return left.hashCode() ^ right.hashCode();
+		return hashCode;
 	}
 
 	@Override
 	public boolean equals(final Object obj) {
+		if (obj == this) return true;
 		if (obj != null && obj.getClass().equals(this.getClass())) {
 			final AddSymbol that = (AddSymbol) obj;
-			return that.left.equals(this.left) && that.right.equals(this.right);
+			return that.hashCode == this.hashCode && that.left.equals(this.left) && that.right.equals(this.right);
 		}
 		return false;
 	}
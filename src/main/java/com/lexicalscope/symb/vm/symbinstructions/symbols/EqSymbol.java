@@ -0,0 +1,46 @@
+package com.lexicalscope.symb.vm.symbinstructions.symbols;
+
+public class EqSymbol implements Symbol {
+   private final Symbol left;
+   private final Symbol right;
+   private final int hashCode;
+
+   public EqSymbol(final Symbol left, final Symbol right) {
+      this.left = left;
+      this.right = right;
+      this.hashCode = 31 * (31 * 6 + left.hashCode()) + right.hashCode();
+   }
+
+   public Symbol left() {
+      return left;
+   }
+
+   public Symbol right() {
+      return right;
+   }
+
+   @Override
+   public int hashCode() {
+      return hashCode;
+   }
+
+   @Override
+   public boolean equals(final Object obj) {
+      if (obj == this) return true;
+      if (obj != null && obj.getClass().equals(this.getClass())) {
+         final EqSymbol that = (EqSymbol) obj;
+         return that.hashCode == this.hashCode && that.left.equals(this.left) && that.right.equals(this.right);
+      }
+      return false;
+   }
+
+   @Override
+   public String toString() {
+      return String.format("(= %s %s)", left, right);
+   }
+
+   @Override
+   public <T, E extends Throwable> T accept(final SymbolVisitor<T, E> visitor) throws E {
+      return visitor.eq(left, right);
+   }
+}
@@ -2,21 +2,28 @@ package com.lexicalscope.symb.vm.symbinstructions.symbols;
 
 public class NotSymbol implements Symbol {
    private final Symbol val;
+   private final int hashCode;
 
    public NotSymbol(final Symbol val) {
       this.val = val;
+      this.hashCode = 31 * 5 + val.hashCode();
+   }
+
+   public Symbol val() {
+      return val;
    }
 
    @Override
    public int hashCode() {
-      return val.hashCode();
+      return hashCode;
    }
 
    @Override
    public boolean equals(final Object obj) {
+      if (obj == this) return true;
       if (obj != null && obj.getClass().equals(this.getClass())) {
          final NotSymbol that = (NotSymbol) obj;
-         return that.val.equals(this.val);
+         return that.hashCode == this.hashCode && that.val.equals(this.val);
       }
       return false;
    }
@@ -0,0 +1,111 @@
+package com.lexicalscope.symb.vm.symbinstructions.symbols;
+
+import com.google.common.collect.Interner;
+import com.google.common.collect.Interners;
+
+/**
+ * Hash-conses symbols: structurally equal symbols made by the same factory are
+ * the same instance. Symbols cache their hash codes, so equality of interned
+ * symbols is decided by reference or by hash code without walking the trees,
+ * and repeated subtrees are stored once.
+ *
+ * Symbols are only weakly held by the factory.
+ *
+ * Arithmetic is simplified as it is built: constants are folded, identities
+ * such as x+0 and x*1 are removed, constant operands are moved to the right
+ * and nested constant operands are combined. Purely concrete computations
+ * therefore stay {@link IConstSymbol}s and never reach the solver. All of the
+ * rewrites hold for 32 bit two's complement arithmetic.
+ *
+ * @author tim
+ */
+public final class SymbolFactory {
+   private final Interner<Symbol> interner = Interners.newWeakInterner();
+
+   public Symbol add(final Symbol left, final Symbol right) {
+      if(left instanceof IConstSymbol) {
+         if(right instanceof IConstSymbol) return constant(value(left) + value(right));
+         return add(right, left);
+      }
+      if(right instanceof IConstSymbol) {
+         if(value(right) == 0) return left;
+         if(left instanceof AddSymbol && ((AddSymbol) left).right() instanceof IConstSymbol) {
+            return add(((AddSymbol) left).left(), constant(value(((AddSymbol) left).right()) + value(right)));
+         }
+      }
+      return intern(new AddSymbol(left, right));
+   }
+
+   public Symbol sub(final Symbol left, final Symbol right) {
+      if(left instanceof IConstSymbol && right instanceof IConstSymbol) return constant(value(left) - value(right));
+      if(right instanceof IConstSymbol && value(right) == 0) return left;
+      if(left.equals(right)) return constant(0);
+      if(left instanceof AddSymbol) {
+         final AddSymbol sum = (AddSymbol) left;
+         if(sum.left().equals(right)) return sum.right();
+         if(sum.right().equals(right)) return sum.left();
+      }
+      return intern(new SubSymbol(left, right));
+   }
+
+   public Symbol mul(final Symbol left, final Symbol right) {
+      if(left instanceof IConstSymbol) {
+         if(right instanceof IConstSymbol) return constant(value(left) * value(right));
+         return mul(right, left);
+      }
+      if(right instanceof IConstSymbol) {
+         if(value(right) == 1) return left;
+         if(value(right) == 0) return right;
+         if(left instanceof MulSymbol && ((MulSymbol) left).right() instanceof IConstSymbol) {
+            return mul(((MulSymbol) left).left(), constant(value(((MulSymbol) left).right()) * value(right)));
+         }
+      }
+      return intern(new MulSymbol(left, right));
+   }
+
+   public GeSymbol ge(final Symbol val) {
+      return intern(new GeSymbol(val));
+   }
+
+   /**
+    * signed less than
+    */
+   public Symbol lt(final Symbol left, final Symbol right) {
+      if(left instanceof IConstSymbol && right instanceof IConstSymbol) return truth(value(left) < value(right));
+      if(left.equals(right)) return truth(false);
+      return intern(new LtSymbol(left, right));
+   }
+
+   public Symbol eq(final Symbol left, final Symbol right) {
+      if(left instanceof IConstSymbol && right instanceof IConstSymbol) return truth(value(left) == value(right));
+      if(left.equals(right)) return truth(true);
+      return intern(new EqSymbol(left, right));
+   }
+
+   /**
+    * There are no boolean constants, so truth is a constant comparison.
+    */
+   public GeSymbol truth(final boolean value) {
+      return ge(constant(value ? 0 : -1));
+   }
+
+   public NotSymbol not(final Symbol val) {
+      return intern(new NotSymbol(val));
+   }
+
+   public IConstSymbol constant(final int val) {
+      return intern(new IConstSymbol(val));
+   }
+
+   public ISymbol intSymbol(final int name) {
+      return intern(new ISymbol(name));
+   }
+
+   private static int value(final Symbol constant) {
+      return ((IConstSymbol) constant).val();
+   }
+
+   @SuppressWarnings("unchecked") private <T extends Symbol> T intern(final T symbol) {
+      return (T) interner.intern(symbol);
+   }
+}
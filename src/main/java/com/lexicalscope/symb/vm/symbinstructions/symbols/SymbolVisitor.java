@@ -7,11 +7,15 @@ public interface SymbolVisitor<T, E extends Throwable> {
 
    T ge(Symbol val) throws E;
 
+   T lt(Symbol left, Symbol right) throws E;
+
+   T eq(Symbol left, Symbol right) throws E;
+
    T mul(Symbol left, Symbol right) throws E;
 
    T not(Symbol val) throws E;
 
    T sub(Symbol left, Symbol right) throws E;
 
-   T intSymbol(int name) throws E;;
+   T intSymbol(int name) throws E;
 }
@@ -0,0 +1,88 @@
+package com.lexicalscope.symb.vm.trace;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+import com.lexicalscope.symb.vm.InstructionNode;
+import com.lexicalscope.symb.vm.Stack;
+import com.lexicalscope.symb.vm.StackOp;
+import com.lexicalscope.symb.vm.State;
+
+/**
+ * Records execution events in a compact binary format. Each event is a tag
+ * byte followed by its data, written with {@link DataOutputStream}:
+ *
+ * <ul>
+ * <li>{@link #DEFINE_INSTRUCTION} int id, utf description - precedes the first event for an instruction</li>
+ * <li>{@link #INSTRUCTION} int id</li>
+ * <li>{@link #FORK} int number of states</li>
+ * <li>{@link #BACKTRACK}</li>
+ * </ul>
+ *
+ * Events are buffered, so the trace must be closed.
+ *
+ * @author tim
+ */
+public final class BinaryTrace implements ExecutionListener, Closeable {
+   public static final byte DEFINE_INSTRUCTION = 0;
+   public static final byte INSTRUCTION = 1;
+   public static final byte FORK = 2;
+   public static final byte BACKTRACK = 3;
+
+   private static final StackOp<InstructionNode> nextInstruction = new StackOp<InstructionNode>() {
+      @Override public InstructionNode eval(final Stack stack) {
+         return stack.instruction();
+      }
+   };
+
+   private final DataOutputStream out;
+   private final Map<InstructionNode, Integer> ids = new IdentityHashMap<>();
+
+   public BinaryTrace(final OutputStream out) {
+      this.out = new DataOutputStream(new BufferedOutputStream(out, 1 << 16));
+   }
+
+   @Override public void instruction(final State state) {
+      final InstructionNode instruction = state.op(nextInstruction);
+      try {
+         Integer id = ids.get(instruction);
+         if(id == null) {
+            id = ids.size();
+            ids.put(instruction, id);
+            out.writeByte(DEFINE_INSTRUCTION);
+            out.writeInt(id);
+            out.writeUTF(String.valueOf(instruction));
+         }
+         out.writeByte(INSTRUCTION);
+         out.writeInt(id);
+      } catch (final IOException e) {
+         throw new RuntimeException("unable to write trace", e);
+      }
+   }
+
+   @Override public void fork(final State[] states) {
+      try {
+         out.writeByte(FORK);
+         out.writeInt(states.length);
+      } catch (final IOException e) {
+         throw new RuntimeException("unable to write trace", e);
+      }
+   }
+
+   @Override public void backtrack(final State finished) {
+      try {
+         out.writeByte(BACKTRACK);
+      } catch (final IOException e) {
+         throw new RuntimeException("unable to write trace", e);
+      }
+   }
+
+   @Override public void close() throws IOException {
+      out.close();
+   }
+}
@@ -0,0 +1,20 @@
+package com.lexicalscope.symb.vm.trace;
+
+import com.lexicalscope.symb.vm.State;
+
+/**
+ * Notified of the progress of a {@link com.lexicalscope.symb.vm.Vm}.
+ */
+public interface ExecutionListener {
+   /**
+    * The state is about to execute its next instruction.
+    */
+   void instruction(State state);
+
+   void fork(State[] states);
+
+   /**
+    * The state has terminated and another pending state will be explored.
+    */
+   void backtrack(State finished);
+}
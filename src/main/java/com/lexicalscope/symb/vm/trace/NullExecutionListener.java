@@ -0,0 +1,11 @@
+package com.lexicalscope.symb.vm.trace;
+
+import com.lexicalscope.symb.vm.State;
+
+public final class NullExecutionListener implements ExecutionListener {
+   @Override public void instruction(final State state) { }
+
+   @Override public void fork(final State[] states) { }
+
+   @Override public void backtrack(final State finished) { }
+}
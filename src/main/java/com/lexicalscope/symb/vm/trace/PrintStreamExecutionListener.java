@@ -0,0 +1,32 @@
+package com.lexicalscope.symb.vm.trace;
+
+import java.io.PrintStream;
+
+import com.lexicalscope.symb.vm.State;
+
+/**
+ * Prints every state as it executes, slow but handy for debugging.
+ */
+public final class PrintStreamExecutionListener implements ExecutionListener {
+   private final PrintStream out;
+
+   public PrintStreamExecutionListener() {
+      this(System.out);
+   }
+
+   public PrintStreamExecutionListener(final PrintStream out) {
+      this.out = out;
+   }
+
+   @Override public void instruction(final State state) {
+      out.println(state);
+   }
+
+   @Override public void fork(final State[] states) {
+      out.println("FORK");
+   }
+
+   @Override public void backtrack(final State finished) {
+      out.println("BACKTRACK");
+   }
+}
@@ -0,0 +1,103 @@
+package com.lexicalscope.symb.z3;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
+
+import com.lexicalscope.symb.vm.symbinstructions.symbols.Symbol;
+
+/**
+ * Answers feasibility queries from the results of earlier queries, in the
+ * style of the KLEE counterexample cache. A query is the set of conjuncts in a
+ * path condition.
+ *
+ * A query is satisfiable if a stored model satisfies every conjunct. A query
+ * is unsatisfiable if it contains a stored unsatisfiable core.
+ *
+ * @author tim
+ */
+public final class CounterexampleCache {
+   private static final int MAX_QUERIES = 4096;
+   private static final int MAX_MODELS = 128;
+   private static final int MAX_CORES = 128;
+
+   // least recently used queries are evicted first
+   private static final class Queries extends LinkedHashMap<Set<Symbol>, Boolean> {
+      private static final long serialVersionUID = 1L;
+
+      private Queries() {
+         super(16, 0.75f, true);
+      }
+
+      @Override protected boolean removeEldestEntry(final Entry<Set<Symbol>, Boolean> eldest) {
+         return size() > MAX_QUERIES;
+      }
+   }
+
+   private final Map<Set<Symbol>, Boolean> queries = new Queries();
+   private final Deque<Map<Integer, Integer>> models = new ArrayDeque<>();
+   private final Deque<Set<Symbol>> cores = new ArrayDeque<>();
+
+   private long hits;
+   private long misses;
+
+   /**
+    * @return true or false if the cache knows the answer, null otherwise
+    */
+   public Boolean lookup(final Set<Symbol> query) {
+      final Boolean result = answer(query);
+      if(result == null) {
+         misses++;
+      } else {
+         hits++;
+      }
+      return result;
+   }
+
+   private Boolean answer(final Set<Symbol> query) {
+      final Boolean known = queries.get(query);
+      if(known != null) return known;
+
+      for (final Set<Symbol> core : cores) {
+         if(query.containsAll(core)) {
+            queries.put(query, false);
+            return false;
+         }
+      }
+
+      for (final Map<Integer, Integer> model : models) {
+         if(new ModelEvaluator(model).satisfies(query)) {
+            queries.put(query, true);
+            return true;
+         }
+      }
+      return null;
+   }
+
+   public void satisfiable(final Set<Symbol> query, final Map<Integer, Integer> model) {
+      queries.put(query, true);
+      models.addFirst(model);
+      if(models.size() > MAX_MODELS) models.removeLast();
+   }
+
+   public void unsatisfiable(final Set<Symbol> query, final Set<Symbol> core) {
+      queries.put(query, false);
+      cores.addFirst(core);
+      if(cores.size() > MAX_CORES) cores.removeLast();
+   }
+
+   public long hits() {
+      return hits;
+   }
+
+   public long misses() {
+      return misses;
+   }
+
+   @Override public String toString() {
+      return String.format("hits %d, misses %d", hits, misses);
+   }
+}
@@ -1,7 +1,12 @@
 package com.lexicalscope.symb.z3;
 
 import java.io.Closeable;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 import com.lexicalscope.symb.vm.symbinstructions.Pc;
 import com.lexicalscope.symb.vm.symbinstructions.symbols.Symbol;
@@ -14,9 +19,57 @@ import com.microsoft.z3.Solver;
 import com.microsoft.z3.Status;
 import com.microsoft.z3.Z3Exception;
 
+/**
+ * A z3 context must not be used by more than one thread at a time, so each
+ * thread that checks path conditions gets its own session: a context, and a
+ * solver whose scopes follow the paths that thread explores. A session left
+ * behind by a thread that has died is reused. The cache is shared, so a
+ * result found by one thread can answer another's query.
+ *
+ * Path conditions are checked incrementally, see {@link IncrementalSolver}.
+ * Before going to z3 we try to answer from earlier results, see
+ * {@link CounterexampleCache}. Only clusters of conjuncts that share
+ * variables are checked together, see {@link IndependentClusters}, so the
+ * clusters a new branch condition does not touch are answered from the cache.
+ * The whole path condition is asserted, so that the solver scopes follow the
+ * path being explored, and each cluster is checked under the assumptions of
+ * its own conjuncts only.
+ */
 public class FeasibilityChecker implements Closeable {
-   // TODO[tim]: use z3 stack for efficency
-   private final Context ctx;
+   private static final class Session {
+      private final Context ctx;
+      private final SymbolToExpr symbolToExpr;
+      private final IncrementalSolver solver;
+      private Thread owner;
+
+      private Session(final Thread owner) {
+         final HashMap<String, String> cfg = new HashMap<String, String>();
+         cfg.put("model", "true");
+         try {
+            ctx = new Context(cfg);
+            symbolToExpr = new SymbolToExpr(ctx);
+            solver = new IncrementalSolver(ctx, symbolToExpr);
+         } catch (final Z3Exception e) {
+            throw new RuntimeException("could not create context", e);
+         }
+         this.owner = owner;
+      }
+
+      private void dispose() {
+         solver.dispose();
+         ctx.dispose();
+      }
+   }
+
+   private final List<Session> sessions = new ArrayList<>();
+   private final ThreadLocal<Session> session = new ThreadLocal<Session>() {
+      @Override protected Session initialValue() {
+         return openSession();
+      }
+   };
+   private final CounterexampleCache cache = new CounterexampleCache();
+   private final IndependentClusters independentClusters = new IndependentClusters();
+   private boolean closed;
 
    public FeasibilityChecker() {
       try {
@@ -25,17 +78,27 @@ public class FeasibilityChecker implements Closeable {
          throw new RuntimeException("could not enable warning messages", e);
       }
       //Log.open("test.log");
+   }
 
-      final HashMap<String, String> cfg = new HashMap<String, String>();
-      cfg.put("model", "true");
-      try {
-         ctx = new Context(cfg);
-      } catch (final Z3Exception e) {
-         throw new RuntimeException("could not create context", e);
+   private Session openSession() {
+      final Thread thread = Thread.currentThread();
+      synchronized (sessions) {
+         if(closed) throw new IllegalStateException("unable to check feasibility, the checker is closed");
+
+         for (final Session dead : sessions) {
+            if(!dead.owner.isAlive()) {
+               dead.owner = thread;
+               return dead;
+            }
+         }
+         final Session result = new Session(thread);
+         sessions.add(result);
+         return result;
       }
    }
 
    public boolean checkZ3IsWorking() throws Z3Exception  {
+      final Context ctx = session.get().ctx;
       final IntExpr x = ctx.mkIntConst("x");
       final IntExpr y = ctx.mkIntConst("y");
       final IntExpr one = ctx.mkInt(1);
@@ -48,10 +111,10 @@ public class FeasibilityChecker implements Closeable {
 
       final BoolExpr q = ctx.mkAnd(c1, c2);
 
-      return check(q);
+      return check(ctx, q);
    }
 
-   private boolean check(final BoolExpr expr) {
+   private boolean check(final Context ctx, final BoolExpr expr) {
       try {
          final Solver s = ctx.mkSolver();
          try {
@@ -66,26 +129,86 @@ public class FeasibilityChecker implements Closeable {
    }
 
    public boolean check(final Pc pc) {
+      final IncrementalSolver solver = session.get().solver;
       try {
-         return check(pc.accept(new PcToZ3(ctx)));
+         boolean asserted = false;
+         for (final List<Symbol> cluster : pc.accept(independentClusters)) {
+            final Set<Symbol> query = new HashSet<>(cluster);
+
+            final Boolean cached;
+            synchronized (cache) {
+               cached = cache.lookup(query);
+            }
+            if(cached != null) {
+               if(!cached) return false;
+               continue;
+            }
+
+            if(!asserted) {
+               pc.accept(solver);
+               asserted = true;
+            }
+            if(!check(solver, cluster, query)) return false;
+         }
+         return true;
       } catch (final Z3Exception e) {
-         throw new RuntimeException("could not map PC to Z3", e);
+         throw new RuntimeException("unable to check satisfiablility of " + pc, e);
+      }
+   }
+
+   private boolean check(final IncrementalSolver solver, final List<Symbol> cluster, final Set<Symbol> query) throws Z3Exception {
+      if(solver.check(query)) {
+         final Set<Integer> variables = new HashSet<>();
+         final FreeVariables freeVariables = new FreeVariables(variables);
+         for (final Symbol conjunct : cluster) {
+            conjunct.accept(freeVariables);
+         }
+         final Map<Integer, Integer> model = solver.model(variables);
+         synchronized (cache) {
+            cache.satisfiable(query, model);
+         }
+         return true;
+      }
+      final Set<Symbol> core = solver.unsatCore();
+      synchronized (cache) {
+         cache.unsatisfiable(query, core);
+      }
+      return false;
+   }
+
+   public long cacheHits() {
+      synchronized (cache) {
+         return cache.hits();
+      }
+   }
+
+   public long cacheMisses() {
+      synchronized (cache) {
+         return cache.misses();
       }
    }
 
    /**
-    * Be kind, rewind.
+    * Be kind, rewind. Closing more than once does nothing. Every thread must
+    * have finished checking first.
     */
    @Override
    public void close() {
-      ctx.dispose();
+      synchronized (sessions) {
+         if(closed) return;
+         closed = true;
+         for (final Session open : sessions) {
+            open.dispose();
+         }
+         sessions.clear();
+      }
    }
 
    public int simplifyBv32Expr(final Symbol symbol) {
       try {
          // problem with overflow handling
          // http://stackoverflow.com/questions/20383866/z3-modeling-java-twos-complement-overflow-and-underflow-in-z3-bit-vector-addit
-         return (int) ((BitVecNum) symbol.accept(new SymbolToExpr(ctx)).simplify()).getLong();
+         return (int) ((BitVecNum) session.get().symbolToExpr.translate(symbol).simplify()).getLong();
       } catch (final Z3Exception e) {
          throw new RuntimeException("unable to simplify " + symbol, e);
       }
@@ -0,0 +1,59 @@
+package com.lexicalscope.symb.z3;
+
+import java.util.Set;
+
+import com.lexicalscope.symb.vm.symbinstructions.symbols.Symbol;
+import com.lexicalscope.symb.vm.symbinstructions.symbols.SymbolVisitor;
+
+/**
+ * Collects the names of the integer symbols that occur in a symbol.
+ */
+final class FreeVariables implements SymbolVisitor<Void, RuntimeException> {
+   private final Set<Integer> variables;
+
+   public FreeVariables(final Set<Integer> variables) {
+      this.variables = variables;
+   }
+
+   @Override public Void add(final Symbol left, final Symbol right) {
+      left.accept(this);
+      return right.accept(this);
+   }
+
+   @Override public Void constant(final int val) {
+      return null;
+   }
+
+   @Override public Void ge(final Symbol val) {
+      return val.accept(this);
+   }
+
+   @Override public Void lt(final Symbol left, final Symbol right) {
+      left.accept(this);
+      return right.accept(this);
+   }
+
+   @Override public Void eq(final Symbol left, final Symbol right) {
+      left.accept(this);
+      return right.accept(this);
+   }
+
+   @Override public Void mul(final Symbol left, final Symbol right) {
+      left.accept(this);
+      return right.accept(this);
+   }
+
+   @Override public Void not(final Symbol val) {
+      return val.accept(this);
+   }
+
+   @Override public Void sub(final Symbol left, final Symbol right) {
+      left.accept(this);
+      return right.accept(this);
+   }
+
+   @Override public Void intSymbol(final int name) {
+      variables.add(name);
+      return null;
+   }
+}
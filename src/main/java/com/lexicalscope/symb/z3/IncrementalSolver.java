@@ -0,0 +1,126 @@
+package com.lexicalscope.symb.z3;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import com.lexicalscope.symb.vm.symbinstructions.PcVisitor;
+import com.lexicalscope.symb.vm.symbinstructions.symbols.Symbol;
+import com.microsoft.z3.BitVecNum;
+import com.microsoft.z3.BoolExpr;
+import com.microsoft.z3.Context;
+import com.microsoft.z3.Expr;
+import com.microsoft.z3.Model;
+import com.microsoft.z3.Solver;
+import com.microsoft.z3.Status;
+import com.microsoft.z3.Z3Exception;
+
+/**
+ * Keeps one solver scope for each conjunct of the path condition that was
+ * asserted most recently. Asserting another path condition pops the scopes
+ * that are not a prefix of it, then pushes and asserts only the conjuncts
+ * that follow. Exploring a path therefore asserts each branch condition
+ * once, and backtracking to a sibling path pops only the diverging scopes.
+ *
+ * Conjuncts are compared by identity, path conditions which are snapshots of
+ * each other share their symbols.
+ *
+ * Each conjunct is asserted behind a fresh literal which is passed as an
+ * assumption to the check, so that an unsatisfiable result can be explained
+ * by an unsat core of conjuncts. It also lets a subset of the conjuncts, such
+ * as one independent cluster, be checked on its own without disturbing the
+ * scopes.
+ *
+ * @author tim
+ */
+final class IncrementalSolver implements PcVisitor<Void, Z3Exception> {
+   private final Context ctx;
+   private final Solver solver;
+   private final SymbolToExpr symbolToExpr;
+   private final List<Symbol> asserted = new ArrayList<>();
+   private final List<BoolExpr> literals = new ArrayList<>();
+   private int nextLiteral;
+
+   public IncrementalSolver(final Context ctx, final SymbolToExpr symbolToExpr) throws Z3Exception {
+      this.ctx = ctx;
+      this.solver = ctx.mkSolver();
+      this.symbolToExpr = symbolToExpr;
+   }
+
+   /**
+    * Asserts the conjunction, reusing the scopes of the longest common prefix
+    * with the conjunction asserted before.
+    */
+   @Override public Void conjunction(final List<Symbol> conjunction) throws Z3Exception {
+      int common = 0;
+      while (common < asserted.size() && common < conjunction.size() && asserted.get(common) == conjunction.get(common)) {
+         common++;
+      }
+
+      if (common < asserted.size()) {
+         solver.pop(asserted.size() - common);
+         asserted.subList(common, asserted.size()).clear();
+         literals.subList(common, literals.size()).clear();
+      }
+
+      for (int i = common; i < conjunction.size(); i++) {
+         final Symbol conjunct = conjunction.get(i);
+         final BoolExpr literal = ctx.mkBoolConst("p" + nextLiteral++);
+         solver.push();
+         solver.add(ctx.mkImplies(literal, (BoolExpr) symbolToExpr.translate(conjunct)));
+         asserted.add(conjunct);
+         literals.add(literal);
+      }
+      return null;
+   }
+
+   /**
+    * Checks only some of the asserted conjuncts, by assuming only their
+    * literals. The other conjuncts stay asserted but do not constrain the
+    * check.
+    */
+   public boolean check(final Set<Symbol> conjuncts) throws Z3Exception {
+      final List<BoolExpr> assumptions = new ArrayList<>(conjuncts.size());
+      for (int i = 0; i < asserted.size(); i++) {
+         if(conjuncts.contains(asserted.get(i))) {
+            assumptions.add(literals.get(i));
+         }
+      }
+      return solver.check(assumptions.toArray(new BoolExpr[assumptions.size()])).equals(Status.SATISFIABLE);
+   }
+
+   /**
+    * Only valid straight after a satisfiable check.
+    *
+    * @return the value of each of the integer symbols in the model
+    */
+   public Map<Integer, Integer> model(final Collection<Integer> variables) throws Z3Exception {
+      final Model model = solver.getModel();
+      final Map<Integer, Integer> result = new HashMap<>();
+      for (final Integer variable : variables) {
+         result.put(variable, (int) ((BitVecNum) model.eval(symbolToExpr.intSymbol(variable), true)).getLong());
+      }
+      return result;
+   }
+
+   /**
+    * Only valid straight after an unsatisfiable check.
+    *
+    * @return the conjuncts in the unsat core
+    */
+   public Set<Symbol> unsatCore() throws Z3Exception {
+      final Set<Symbol> result = new HashSet<>();
+      for (final Expr literal : solver.getUnsatCore()) {
+         result.add(asserted.get(literals.indexOf(literal)));
+      }
+      return result;
+   }
+
+   public void dispose() {
+      solver.dispose();
+   }
+}
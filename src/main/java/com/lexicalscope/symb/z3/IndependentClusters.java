@@ -0,0 +1,71 @@
+package com.lexicalscope.symb.z3;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import com.lexicalscope.symb.vm.symbinstructions.PcVisitor;
+import com.lexicalscope.symb.vm.symbinstructions.symbols.Symbol;
+
+/**
+ * Splits a conjunction into clusters of conjuncts that share no integer
+ * symbols with any other cluster. The conjunction is satisfiable exactly when
+ * every cluster is, so the clusters can be checked (and cached) separately.
+ * Conjuncts keep their relative order within a cluster.
+ *
+ * @author tim
+ */
+final class IndependentClusters implements PcVisitor<Collection<List<Symbol>>, RuntimeException> {
+   @Override public Collection<List<Symbol>> conjunction(final List<Symbol> conjunction) {
+      final Map<Integer, Integer> parent = new HashMap<>();
+      final List<Set<Integer>> variables = new ArrayList<>(conjunction.size());
+      for (final Symbol conjunct : conjunction) {
+         final Set<Integer> conjunctVariables = new HashSet<>();
+         conjunct.accept(new FreeVariables(conjunctVariables));
+         variables.add(conjunctVariables);
+
+         Integer first = null;
+         for (final Integer variable : conjunctVariables) {
+            if(first == null) {
+               first = variable;
+               find(parent, variable);
+            } else {
+               parent.put(find(parent, variable), find(parent, first));
+            }
+         }
+      }
+
+      // conjuncts without variables are grouped under the null key
+      final Map<Integer, List<Symbol>> clusters = new LinkedHashMap<>();
+      for (int i = 0; i < conjunction.size(); i++) {
+         final Set<Integer> conjunctVariables = variables.get(i);
+         final Integer root = conjunctVariables.isEmpty() ? null : find(parent, conjunctVariables.iterator().next());
+
+         List<Symbol> cluster = clusters.get(root);
+         if(cluster == null) {
+            cluster = new ArrayList<>();
+            clusters.put(root, cluster);
+         }
+         cluster.add(conjunction.get(i));
+      }
+      return clusters.values();
+   }
+
+   private static Integer find(final Map<Integer, Integer> parent, final Integer variable) {
+      final Integer up = parent.get(variable);
+      if(up == null) {
+         parent.put(variable, variable);
+         return variable;
+      }
+      if(up.equals(variable)) return variable;
+
+      final Integer root = find(parent, up);
+      parent.put(variable, root);
+      return root;
+   }
+}
@@ -0,0 +1,63 @@
+package com.lexicalscope.symb.z3;
+
+import java.util.Map;
+
+import com.lexicalscope.symb.vm.symbinstructions.symbols.Symbol;
+import com.lexicalscope.symb.vm.symbinstructions.symbols.SymbolVisitor;
+
+/**
+ * Evaluates a symbol under an assignment of values to integer symbols, with
+ * the same 32 bit two's complement semantics we give z3. Truth values are
+ * 1 and 0. Symbols without a value in the assignment are taken to be 0.
+ */
+final class ModelEvaluator implements SymbolVisitor<Integer, RuntimeException> {
+   private final Map<Integer, Integer> model;
+
+   public ModelEvaluator(final Map<Integer, Integer> model) {
+      this.model = model;
+   }
+
+   public boolean satisfies(final Iterable<Symbol> conjunction) {
+      for (final Symbol conjunct : conjunction) {
+         if(conjunct.accept(this) == 0) return false;
+      }
+      return true;
+   }
+
+   @Override public Integer add(final Symbol left, final Symbol right) {
+      return left.accept(this) + right.accept(this);
+   }
+
+   @Override public Integer constant(final int val) {
+      return val;
+   }
+
+   @Override public Integer ge(final Symbol val) {
+      return val.accept(this) >= 0 ? 1 : 0;
+   }
+
+   @Override public Integer lt(final Symbol left, final Symbol right) {
+      return left.accept(this) < right.accept(this) ? 1 : 0;
+   }
+
+   @Override public Integer eq(final Symbol left, final Symbol right) {
+      return left.accept(this).equals(right.accept(this)) ? 1 : 0;
+   }
+
+   @Override public Integer mul(final Symbol left, final Symbol right) {
+      return left.accept(this) * right.accept(this);
+   }
+
+   @Override public Integer not(final Symbol val) {
+      return val.accept(this) == 0 ? 1 : 0;
+   }
+
+   @Override public Integer sub(final Symbol left, final Symbol right) {
+      return left.accept(this) - right.accept(this);
+   }
+
+   @Override public Integer intSymbol(final int name) {
+      final Integer value = model.get(name);
+      return value == null ? 0 : value;
+   }
+}
@@ -1,5 +1,7 @@
 package com.lexicalscope.symb.z3;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import com.lexicalscope.symb.vm.symbinstructions.symbols.Symbol;
 import com.lexicalscope.symb.vm.symbinstructions.symbols.SymbolVisitor;
 import com.microsoft.z3.BitVecExpr;
@@ -8,26 +10,42 @@ import com.microsoft.z3.Context;
 import com.microsoft.z3.Expr;
 import com.microsoft.z3.Z3Exception;
 
+/**
+ * Translations are memoised by symbol identity, so a subtree shared between
+ * conjuncts (or hash-consed by the symbol factory) becomes a z3 expression
+ * once. Keep one of these per context. The cache only holds its symbols
+ * weakly.
+ */
 public class SymbolToExpr implements SymbolVisitor<Expr, Z3Exception> {
    private final Context ctx;
+   private final Cache<Symbol, Expr> translated = CacheBuilder.newBuilder().weakKeys().build();
 
    public SymbolToExpr(final Context ctx) {
       this.ctx = ctx;
    }
 
+   public Expr translate(final Symbol symbol) throws Z3Exception {
+      final Expr cached = translated.getIfPresent(symbol);
+      if(cached != null) return cached;
+
+      final Expr result = symbol.accept(this);
+      translated.put(symbol, result);
+      return result;
+   }
+
    @Override
    public BitVecExpr add(final Symbol left, final Symbol right) throws Z3Exception {
-      return ctx.mkBVAdd((BitVecExpr) left.accept(this), (BitVecExpr) right.accept(this));
+      return ctx.mkBVAdd((BitVecExpr) translate(left), (BitVecExpr) translate(right));
    }
 
    @Override
    public BitVecExpr sub(final Symbol left, final Symbol right) throws Z3Exception {
-      return ctx.mkBVSub((BitVecExpr) left.accept(this), (BitVecExpr) right.accept(this));
+      return ctx.mkBVSub((BitVecExpr) translate(left), (BitVecExpr) translate(right));
    }
 
    @Override
    public BitVecExpr mul(final Symbol left, final Symbol right) throws Z3Exception {
-      return ctx.mkBVMul((BitVecExpr) left.accept(this), (BitVecExpr) right.accept(this));
+      return ctx.mkBVMul((BitVecExpr) translate(left), (BitVecExpr) translate(right));
    }
 
    @Override
@@ -37,12 +55,22 @@ public class SymbolToExpr implements SymbolVisitor<Expr, Z3Exception> {
 
    @Override
    public Expr ge(final Symbol val) throws Z3Exception {
-      return ctx.mkBVSGE((BitVecExpr) val.accept(this), constant(0));
+      return ctx.mkBVSGE((BitVecExpr) translate(val), constant(0));
+   }
+
+   @Override
+   public Expr lt(final Symbol left, final Symbol right) throws Z3Exception {
+      return ctx.mkBVSLT((BitVecExpr) translate(left), (BitVecExpr) translate(right));
+   }
+
+   @Override
+   public Expr eq(final Symbol left, final Symbol right) throws Z3Exception {
+      return ctx.mkEq(translate(left), translate(right));
    }
 
    @Override
    public Expr not(final Symbol val) throws Z3Exception {
-      return ctx.mkNot((BoolExpr) val.accept(this));
+      return ctx.mkNot((BoolExpr) translate(val));
    }
 
    @Override
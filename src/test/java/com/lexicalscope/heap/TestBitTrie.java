@@ -226,4 +226,216 @@ public class TestBitTrie {
       assertThat(trie.allocate(5), equalTo(1));
       assertThat(trie.allocate(1), equalTo(6));
    }
-}
\ No newline at end of file
+
+   @Test public void allocateAcrossLevelsKeepsExistingValues(){
+      final BitTrie trie = new BitTrie();
+      final int key = trie.insert(value);
+      final int first = trie.allocate(100000);
+
+      assertThat(first, equalTo(key + 1));
+      assertThat(trie.depth(), equalTo(4));
+      assertThat(trie.get(key), equalTo(value));
+      assertThat(trie.get(first), equalTo(null));
+      assertThat(trie.get(first + 99999), equalTo(null));
+      assertThat(trie.insert(value1), equalTo(first + 100000));
+
+      trie.insert(first + 99999, value2);
+      assertThat(trie.get(first + 99999), equalTo(value2));
+   }
+
+   @Test public void allocateIsNotVisibleInCopy(){
+      final BitTrie trie = new BitTrie();
+      final int key = trie.insert(value);
+      final BitTrie copy = trie.copy();
+
+      final int first = trie.allocate(40);
+      trie.insert(first, value1);
+      trie.insert(key, value2);
+
+      assertThat(copy.get(key), equalTo(value));
+      assertThat(copy.insert(value1), equalTo(first));
+      assertThat(trie.get(key), equalTo(value2));
+   }
+
+   @Test public void allocateUpToTheLastKey(){
+      final BitTrie trie = new BitTrie(-40);
+      assertThat(trie.allocate(40), equalTo(-40));
+      trie.insert(-1, value);
+      assertThat(trie.get(-1), equalTo(value));
+      try{
+         trie.allocate(1);
+         fail("allocate past max key");
+      } catch (final IndexOutOfBoundsException e) {
+         // OK
+      }
+   }
+
+   @Test public void unwrittenSpaceReadsAsNullAtEveryLevel(){
+      final BitTrie trie = new BitTrie();
+      final int first = trie.allocate(Integer.MAX_VALUE);
+
+      assertThat(trie.depth(), equalTo(8));
+      assertThat(trie.get(first), equalTo(null));
+      assertThat(trie.get(1 << 20), equalTo(null));
+      assertThat(trie.get(Integer.MAX_VALUE), equalTo(null));
+
+      trie.insert(1 << 29, value);
+      assertThat(trie.get(1 << 29), equalTo(value));
+      assertThat(trie.get((1 << 29) + 1), equalTo(null));
+      assertThat(trie.get((1 << 29) + 32), equalTo(null));
+   }
+
+   @Test public void copyOfUnwrittenSpaceIsDistinct(){
+      final BitTrie trie = new BitTrie(8192);
+      final int first = trie.allocate(100);
+      final BitTrie copy = trie.copy();
+
+      copy.insert(first + 50, value1);
+      trie.insert(first + 50, value2);
+
+      assertThat(copy.get(first + 50), equalTo(value1));
+      assertThat(trie.get(first + 50), equalTo(value2));
+      assertThat(copy.get(first + 49), equalTo(null));
+   }
+
+   @Test public void cursorWritesAndReadsAcrossPages(){
+      final BitTrie trie = new BitTrie();
+      final int first = trie.allocate(100);
+
+      final BitTrie.Cursor writer = trie.cursor(first);
+      for (int i = 0; i < 100; i++) {
+         writer.write(i);
+      }
+
+      final BitTrie.Cursor reader = trie.cursor(first);
+      for (int i = 0; i < 100; i++) {
+         assertThat(reader.read(), equalTo((Object) i));
+         assertThat(trie.get(first + i), equalTo((Object) i));
+      }
+   }
+
+   @Test public void cursorWritesAfterCopyAreNotVisibleInCopy(){
+      final BitTrie trie = new BitTrie();
+      final int first = trie.allocate(10);
+
+      final BitTrie.Cursor cursor = trie.cursor(first);
+      cursor.write(value);
+      final BitTrie copy = trie.copy();
+      cursor.write(value1);
+
+      assertThat(trie.get(first + 1), equalTo(value1));
+      assertThat(copy.get(first), equalTo(value));
+      assertThat(copy.get(first + 1), equalTo(null));
+   }
+
+   @Test public void cursorSeesInsertsIntoItsPage(){
+      final BitTrie trie = new BitTrie();
+      final int first = trie.allocate(10);
+
+      final BitTrie.Cursor cursor = trie.cursor(first);
+      assertThat(cursor.read(), equalTo(null));
+      trie.insert(first + 1, value);
+      assertThat(cursor.read(), equalTo(value));
+   }
+
+   @Test public void cursorCannotWritePastEnd(){
+      final BitTrie trie = new BitTrie();
+      final BitTrie.Cursor cursor = trie.cursor(trie.allocate(1));
+      cursor.write(value);
+      try{
+         cursor.write(value);
+         fail("write past end");
+      } catch (final IndexOutOfBoundsException e) {
+         // OK
+      }
+   }
+
+   @Test public void intsAreReadBackInEitherForm(){
+      final BitTrie trie = new BitTrie();
+      final int first = trie.allocate(3);
+
+      trie.insertInt(first, 500);
+      trie.insert(first + 1, 'c');
+
+      assertThat(trie.getInt(first), equalTo(500));
+      assertThat(trie.get(first), equalTo((Object) 500));
+      assertThat(trie.getInt(first + 1), equalTo((int) 'c'));
+      assertThat(trie.getInt(first + 2), equalTo(0));
+   }
+
+   @Test public void insertingAnObjectReplacesAnInt(){
+      final BitTrie trie = new BitTrie();
+      final int key = trie.allocate(1);
+
+      trie.insertInt(key, 7);
+      assertThat(trie.insert(key, value), equalTo((Object) 7));
+      assertThat(trie.get(key), equalTo(value));
+   }
+
+   @Test public void intsInCopyAreDistinct(){
+      final BitTrie trie = new BitTrie();
+      final int key = trie.allocate(1);
+      trie.insertInt(key, 1);
+
+      final BitTrie copy = trie.copy();
+      copy.insertInt(key, 2);
+
+      assertThat(trie.getInt(key), equalTo(1));
+      assertThat(copy.getInt(key), equalTo(2));
+   }
+
+   @Test public void copyRangeKeepsIntsAndObjectsAcrossPages(){
+      final BitTrie trie = new BitTrie();
+      final int from = trie.allocate(41);
+      final int to = trie.allocate(41);
+      for (int i = 0; i < 40; i++) {
+         trie.insertInt(from + i, i);
+      }
+      trie.insert(from + 40, 'a');
+
+      trie.copyRange(from, to, 41);
+
+      for (int i = 0; i < 40; i++) {
+         assertThat(trie.getInt(to + i), equalTo(i));
+      }
+      assertThat(trie.get(to + 40), equalTo((Object) 'a'));
+   }
+
+   @Test public void copyRangeUpOverlappingItself(){
+      final BitTrie trie = overlapping(40);
+      trie.copyRange(1, 11, 40);
+
+      for (int i = 0; i < 40; i++) {
+         assertThat(trie.getInt(11 + i), equalTo(i));
+      }
+   }
+
+   @Test public void copyRangeDownOverlappingItself(){
+      final BitTrie trie = overlapping(40);
+      trie.copyRange(11, 1, 40);
+
+      for (int i = 0; i < 30; i++) {
+         assertThat(trie.getInt(1 + i), equalTo(i + 10));
+      }
+   }
+
+   @Test public void copyRangeLeavesSnapshotsAlone(){
+      final BitTrie trie = overlapping(40);
+      final BitTrie copy = trie.copy();
+
+      copy.copyRange(1, 11, 40);
+
+      assertThat(trie.getInt(11), equalTo(10));
+      assertThat(copy.getInt(11), equalTo(0));
+   }
+
+   // ints 0..size-1 from key 1, with room for size more after them
+   private BitTrie overlapping(final int size) {
+      final BitTrie trie = new BitTrie();
+      final int key = trie.allocate(size + 10);
+      for (int i = 0; i < size; i++) {
+         trie.insertInt(key + i, i);
+      }
+      return trie;
+   }
+}
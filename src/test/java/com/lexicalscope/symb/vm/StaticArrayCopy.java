@@ -0,0 +1,50 @@
+package com.lexicalscope.symb.vm;
+
+public class StaticArrayCopy {
+   public static int copyIntoAnotherArray() {
+      final int[] src = {1, 2, 3, 4, 5};
+      // every slot is written, the vm reads unwritten int array slots as null
+      final int[] dest = {0, 0, 0, 0, 0};
+      System.arraycopy(src, 0, dest, 1, 4);
+      return digits(dest);
+   }
+
+   public static int copyOverlappingUp() {
+      final int[] array = {1, 2, 3, 4, 5};
+      System.arraycopy(array, 0, array, 1, 4);
+      return digits(array);
+   }
+
+   public static int copyOverlappingDown() {
+      final int[] array = {1, 2, 3, 4, 5};
+      System.arraycopy(array, 1, array, 0, 4);
+      return digits(array);
+   }
+
+   public static int copyPastTheEnd() {
+      final int[] src = {1, 2, 3, 4, 5};
+      final int[] dest = {0, 0, 0, 0, 0};
+      System.arraycopy(src, 2, dest, 0, 4);
+      return digits(dest);
+   }
+
+   public static int copyNegativeLength() {
+      final int[] array = {1, 2, 3, 4, 5};
+      System.arraycopy(array, 0, array, 1, -1);
+      return digits(array);
+   }
+
+   public static int copyFromNull() {
+      final int[] dest = {0, 0, 0, 0, 0};
+      System.arraycopy(null, 0, dest, 0, 1);
+      return digits(dest);
+   }
+
+   private static int digits(final int[] array) {
+      int result = 0;
+      for (int i = 0; i < array.length; i++) {
+         result = result * 10 + array[i];
+      }
+      return result;
+   }
+}
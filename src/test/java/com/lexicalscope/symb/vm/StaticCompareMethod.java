@@ -0,0 +1,13 @@
+package com.lexicalscope.symb.vm;
+
+public class StaticCompareMethod {
+   public static int compare(final int x, final int y) {
+      if(x == y) return 0;
+      if(x < y) return -1;
+      return 1;
+   }
+
+   public static int isZero(final int x) {
+      return x == 0 ? 1 : 0;
+   }
+}
@@ -0,0 +1,39 @@
+package com.lexicalscope.symb.vm;
+
+public class StaticHotMethod {
+   private static int total;
+
+   public static int sumOfDistances(final int n) {
+      int result = 0;
+      for (int i = 0; i < n; i++) {
+         result = result + distance(i, n - 50);
+      }
+      return result;
+   }
+
+   public static int totalOfDistances(final int n) {
+      total = 0;
+      for (int i = 0; i < n; i++) {
+         addDistance(i, n - 50);
+      }
+      return total;
+   }
+
+   static void addDistance(final int x, final int y) {
+      if(x < y) total += y - x;
+      else total += x - y;
+   }
+
+   static int sumBelow(final int n) {
+      int result = 0;
+      for (int i = 0; i < n; i++) {
+         result += i;
+      }
+      return result;
+   }
+
+   static int distance(final int x, final int y) {
+      if(x < y) return y - x;
+      return x - y;
+   }
+}
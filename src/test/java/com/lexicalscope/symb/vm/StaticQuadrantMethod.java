@@ -0,0 +1,12 @@
+package com.lexicalscope.symb.vm;
+
+public class StaticQuadrantMethod {
+   public static int quadrant(final int x, final int y) {
+      if(x < 0) {
+         if(y < 0) return 3;
+         return 2;
+      }
+      if(y < 0) return 4;
+      return 1;
+   }
+}
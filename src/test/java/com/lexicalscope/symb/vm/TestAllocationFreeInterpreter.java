@@ -0,0 +1,62 @@
+package com.lexicalscope.symb.vm;
+
+import static com.lexicalscope.symb.vm.instructions.ops.Ops.loadConstants;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+
+import java.lang.management.ManagementFactory;
+
+import org.junit.Test;
+
+import com.lexicalscope.symb.vm.classloader.AsmSClassLoader;
+import com.lexicalscope.symb.vm.classloader.MethodInfo;
+import com.lexicalscope.symb.vm.concinstructions.ConcInstructionFactory;
+
+public class TestAllocationFreeInterpreter {
+   private static final int WARM_UP_STEPS = 20000;
+   private static final int MEASURED_STEPS = 1000000;
+
+   /*
+    * The JVM itself occasionally allocates a little on the thread, for
+    * example when compiled code deoptimises and re-materialises objects it
+    * had scalar replaced. That is a one-off, so it does not grow with the
+    * number of steps, unlike even one allocation every few thousand steps.
+    */
+   private static final long ALLOWANCE_BYTES = 4096;
+
+   private final MethodInfo sumOfDistances = new MethodInfo(StaticHotMethod.class, "sumOfDistances", "(I)I");
+   private final MethodInfo sumBelow = new MethodInfo(StaticHotMethod.class, "sumBelow", "(I)I");
+
+   @Test public void loopAllocatesNothing() {
+      assertThat(bytesAllocated(sumBelow, false), lessThanOrEqualTo(ALLOWANCE_BYTES));
+   }
+
+   @Test public void fusedLoopAllocatesNothing() {
+      assertThat(bytesAllocated(sumBelow, true), lessThanOrEqualTo(ALLOWANCE_BYTES));
+   }
+
+   @Test public void callsToCompiledMethodsAllocateNothing() {
+      assertThat(bytesAllocated(sumOfDistances, true), lessThanOrEqualTo(ALLOWANCE_BYTES));
+   }
+
+   private long bytesAllocated(final MethodInfo method, final boolean superInstructions) {
+      final AsmSClassLoader classLoader = new AsmSClassLoader(new ConcInstructionFactory(), superInstructions);
+      final State state = Vm.initial(classLoader, method).op(loadConstants(Integer.MAX_VALUE));
+      final Vm vm = new Vm(state);
+
+      step(vm, state, WARM_UP_STEPS);
+      final long before = allocatedBytes();
+      step(vm, state, MEASURED_STEPS);
+      return allocatedBytes() - before;
+   }
+
+   private static void step(final Vm vm, final State state, final int steps) {
+      for (int i = 0; i < steps; i++) {
+         state.advance(vm);
+      }
+   }
+
+   private static long allocatedBytes() {
+      return ((com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean()).getThreadAllocatedBytes(Thread.currentThread().getId());
+   }
+}
@@ -0,0 +1,46 @@
+package com.lexicalscope.symb.vm;
+
+import static com.lexicalscope.symb.vm.Vm.concreteVm;
+import static com.lexicalscope.symb.vm.matchers.StateMatchers.normalTerminiationWithResult;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+import com.lexicalscope.symb.vm.classloader.MethodInfo;
+
+public class TestArrayCopy {
+   @Rule public ExpectedException exception = ExpectedException.none();
+
+   @Test public void copyIntoAnotherArray() {
+      assertThat(run("copyIntoAnotherArray"), normalTerminiationWithResult(StaticArrayCopy.copyIntoAnotherArray()));
+   }
+
+   @Test public void copyOverlappingUp() {
+      assertThat(run("copyOverlappingUp"), normalTerminiationWithResult(StaticArrayCopy.copyOverlappingUp()));
+   }
+
+   @Test public void copyOverlappingDown() {
+      assertThat(run("copyOverlappingDown"), normalTerminiationWithResult(StaticArrayCopy.copyOverlappingDown()));
+   }
+
+   @Test public void copyPastTheEndIsRejected() {
+      exception.expect(ArrayIndexOutOfBoundsException.class);
+      run("copyPastTheEnd");
+   }
+
+   @Test public void copyNegativeLengthIsRejected() {
+      exception.expect(ArrayIndexOutOfBoundsException.class);
+      run("copyNegativeLength");
+   }
+
+   @Test public void copyFromNullIsRejected() {
+      exception.expect(NullPointerException.class);
+      run("copyFromNull");
+   }
+
+   private static State run(final String name) {
+      return concreteVm(new MethodInfo(StaticArrayCopy.class, name, "()I")).execute();
+   }
+}
@@ -0,0 +1,43 @@
+package com.lexicalscope.symb.vm;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+
+import org.junit.Test;
+
+public class TestDequeStack {
+   private final DequeStack stack = new DequeStack(null, 1, 2);
+
+   @Test public void writesAfterSnapshotAreNotShared() {
+      stack.query(push(1), null, null);
+      final Stack snapshot = stack.snapshot();
+
+      stack.query(push(2), null, null);
+      snapshot.query(push(3), null, null);
+
+      assertThat(stack.query(pop(), null, null), equalTo((Object) 2));
+      assertThat(snapshot.query(pop(), null, null), equalTo((Object) 3));
+      assertThat(stack.query(pop(), null, null), equalTo((Object) 1));
+      assertThat(snapshot.query(pop(), null, null), equalTo((Object) 1));
+   }
+
+   @Test public void snapshotHasTheSameDepth() {
+      assertThat(stack.snapshot().size(), equalTo(1));
+   }
+
+   private static Vop push(final Object val) {
+      return new Vop() {
+         @Override public void eval(final StackFrame stackFrame, final Stack stack, final Heap heap, final Statics statics) {
+            stackFrame.push(val);
+         }
+      };
+   }
+
+   private static Op<Object> pop() {
+      return new Op<Object>() {
+         @Override public Object eval(final StackFrame stackFrame, final Stack stack, final Heap heap, final Statics statics) {
+            return stackFrame.pop();
+         }
+      };
+   }
+}
@@ -0,0 +1,39 @@
+package com.lexicalscope.symb.vm;
+
+import static com.lexicalscope.symb.vm.instructions.ops.Ops.loadConstants;
+import static com.lexicalscope.symb.vm.matchers.StateMatchers.normalTerminiationWithResult;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.notNullValue;
+
+import org.junit.Test;
+
+import com.lexicalscope.symb.vm.classloader.AsmSClassLoader;
+import com.lexicalscope.symb.vm.classloader.MethodInfo;
+import com.lexicalscope.symb.vm.classloader.SMethod;
+
+public class TestHotMethods {
+   private final AsmSClassLoader classLoader = new AsmSClassLoader();
+
+   @Test public void compiledMethodGivesSameResultAsInterpreter() {
+      final Vm vm = vm(new MethodInfo(StaticHotMethod.class, "sumOfDistances", "(I)I"), 300);
+
+      assertThat(vm.execute(), normalTerminiationWithResult(StaticHotMethod.sumOfDistances(300)));
+      assertThat(hotMethod("distance", "(II)I").compiled(), notNullValue());
+   }
+
+   @Test public void compiledMethodReadsAndWritesItsClassStatics() {
+      final Vm vm = vm(new MethodInfo(StaticHotMethod.class, "totalOfDistances", "(I)I"), 300);
+
+      assertThat(vm.execute(), normalTerminiationWithResult(StaticHotMethod.sumOfDistances(300)));
+      assertThat(hotMethod("addDistance", "(II)V").compiled(), notNullValue());
+   }
+
+   private Vm vm(final MethodInfo entryPoint, final Object ... args) {
+      return new Vm(Vm.initial(classLoader, entryPoint).op(loadConstants(args)));
+   }
+
+   // called after the method is hot, so this does not count as a call
+   private SMethod hotMethod(final String name, final String desc) {
+      return classLoader.load(StaticHotMethod.class).staticMethod(name, desc);
+   }
+}
@@ -0,0 +1,39 @@
+package com.lexicalscope.symb.vm;
+
+import static com.lexicalscope.symb.vm.ParallelVm.*;
+import static com.lexicalscope.symb.vm.matchers.StateMatchers.normalTerminiationWithResult;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+import org.junit.Test;
+
+import com.lexicalscope.symb.vm.classloader.MethodInfo;
+import com.lexicalscope.symb.vm.symbinstructions.SymbInstructionFactory;
+import com.lexicalscope.symb.vm.symbinstructions.symbols.IConstSymbol;
+import com.lexicalscope.symb.vm.symbinstructions.symbols.MulSymbol;
+import com.lexicalscope.symb.vm.symbinstructions.symbols.Symbol;
+
+public class TestParallelVm {
+   MethodInfo absMethod = new MethodInfo(
+         "com/lexicalscope/symb/vm/StaticAbsMethod", "abs", "(I)I");
+
+   @Test
+   public void concExecuteOnSeveralWorkers() {
+      final ParallelVm vm = parallelConcreteVm(4, absMethod, -2);
+      vm.execute();
+      assertThat(vm.results(), hasSize(1));
+      assertThat(vm.results(), hasItem(normalTerminiationWithResult(2)));
+   }
+
+   @Test
+   public void symbExecuteBothBranchesOnSeveralWorkers() {
+      final SymbInstructionFactory instructionFactory = new SymbInstructionFactory();
+      final Symbol symbol1 = instructionFactory.symbol();
+
+      final ParallelVm vm = parallelVm(4, instructionFactory, absMethod, symbol1);
+      vm.execute();
+      assertThat(vm.results(), hasSize(2));
+      assertThat(vm.results(), hasItem(normalTerminiationWithResult(new MulSymbol(symbol1, new IConstSymbol(-1)))));
+      assertThat(vm.results(), hasItem(normalTerminiationWithResult(symbol1)));
+   }
+}
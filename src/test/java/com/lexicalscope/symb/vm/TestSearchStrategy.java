@@ -0,0 +1,122 @@
+package com.lexicalscope.symb.vm;
+
+import static com.lexicalscope.symb.vm.matchers.StateMatchers.normalTerminiationWithResult;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+
+import com.lexicalscope.symb.vm.classloader.AsmSClassLoader;
+import com.lexicalscope.symb.vm.classloader.MethodInfo;
+import com.lexicalscope.symb.vm.search.BreadthFirstSearch;
+import com.lexicalscope.symb.vm.search.DepthFirstSearch;
+import com.lexicalscope.symb.vm.search.RandomSearch;
+import com.lexicalscope.symb.vm.search.SearchStrategy;
+import com.lexicalscope.symb.vm.search.UncoveredFirstSearch;
+import com.lexicalscope.symb.vm.symbinstructions.SymbInstructionFactory;
+import com.lexicalscope.symb.vm.symbinstructions.symbols.IConstSymbol;
+import com.lexicalscope.symb.vm.symbinstructions.symbols.MulSymbol;
+import com.lexicalscope.symb.vm.symbinstructions.symbols.Symbol;
+import com.lexicalscope.symb.vm.trace.ExecutionListener;
+
+public class TestSearchStrategy {
+   MethodInfo absMethod = new MethodInfo(
+         "com/lexicalscope/symb/vm/StaticAbsMethod", "abs", "(I)I");
+   MethodInfo quadrantMethod = new MethodInfo(
+         "com/lexicalscope/symb/vm/StaticQuadrantMethod", "quadrant", "(II)I");
+
+   private final List<String> events = new ArrayList<>();
+   private final List<State> backtracked = new ArrayList<>();
+
+   @Test
+   public void breadthFirstExploresBothBranches() {
+      exploresBothBranches(new BreadthFirstSearch());
+   }
+
+   @Test
+   public void randomExploresBothBranches() {
+      exploresBothBranches(new RandomSearch(0));
+   }
+
+   @Test
+   public void uncoveredFirstExploresBothBranches() {
+      exploresBothBranches(new UncoveredFirstSearch());
+   }
+
+   @Test
+   public void depthFirstFinishesOneBranchBeforeForkingTheOther() {
+      exploreQuadrants(new DepthFirstSearch());
+
+      assertThat(events, contains("fork", "fork", "backtrack", "backtrack", "fork", "backtrack", "backtrack"));
+      assertThat(backtracked.get(0), normalTerminiationWithResult(new IConstSymbol(3)));
+      assertThat(backtracked.get(1), normalTerminiationWithResult(new IConstSymbol(2)));
+      assertThat(backtracked.get(2), normalTerminiationWithResult(new IConstSymbol(4)));
+      assertThat(backtracked.get(3), normalTerminiationWithResult(new IConstSymbol(1)));
+   }
+
+   @Test
+   public void breadthFirstForksEveryBranchBeforeFinishingAny() {
+      exploreQuadrants(new BreadthFirstSearch());
+
+      assertThat(events, contains("fork", "fork", "fork", "backtrack", "backtrack", "backtrack", "backtrack"));
+      assertThat(backtracked.get(0), normalTerminiationWithResult(new IConstSymbol(1)));
+      assertThat(backtracked.get(1), normalTerminiationWithResult(new IConstSymbol(4)));
+      assertThat(backtracked.get(2), normalTerminiationWithResult(new IConstSymbol(2)));
+      assertThat(backtracked.get(3), normalTerminiationWithResult(new IConstSymbol(3)));
+   }
+
+   @Test
+   public void uncoveredFirstPrefersAStateAtAnUncoveredInstruction() {
+      final State ahead = Vm.initial(new AsmSClassLoader(), absMethod);
+      final State behind = ahead.snapshot();
+      ahead.advance(new Explorer() {
+         @Override public void fork(final State[] states) {
+            throw new AssertionError("unexpected fork");
+         }
+      });
+
+      final SearchStrategy depthFirst = new DepthFirstSearch();
+      depthFirst.pending(ahead);
+      depthFirst.pending(behind);
+      assertThat(depthFirst.next(), sameInstance(behind));
+
+      final SearchStrategy uncoveredFirst = new UncoveredFirstSearch();
+      uncoveredFirst.pending(ahead);
+      uncoveredFirst.pending(behind);
+      assertThat(uncoveredFirst.next(), sameInstance(ahead));
+      assertThat(uncoveredFirst.next(), sameInstance(behind));
+      assertThat(uncoveredFirst.next(), nullValue());
+   }
+
+   private void exploresBothBranches(final SearchStrategy searchStrategy) {
+      final SymbInstructionFactory instructionFactory = new SymbInstructionFactory();
+      final Symbol symbol1 = instructionFactory.symbol();
+
+      final Vm vm = Vm.vm(searchStrategy, instructionFactory, absMethod, symbol1);
+      vm.execute();
+      assertThat(vm.results(), hasSize(2));
+      assertThat(vm.results(), hasItem(normalTerminiationWithResult(new MulSymbol(symbol1, new IConstSymbol(-1)))));
+      assertThat(vm.results(), hasItem(normalTerminiationWithResult(symbol1)));
+   }
+
+   private void exploreQuadrants(final SearchStrategy searchStrategy) {
+      final SymbInstructionFactory instructionFactory = new SymbInstructionFactory();
+      final Vm vm = Vm.vm(searchStrategy, instructionFactory, quadrantMethod, instructionFactory.symbol(), instructionFactory.symbol());
+      vm.executionListener(new ExecutionListener() {
+         @Override public void instruction(final State state) { }
+
+         @Override public void fork(final State[] states) {
+            events.add("fork");
+         }
+
+         @Override public void backtrack(final State finished) {
+            events.add("backtrack");
+            backtracked.add(finished);
+         }
+      });
+      vm.execute();
+   }
+}
@@ -0,0 +1,49 @@
+package com.lexicalscope.symb.vm;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+
+import org.junit.Test;
+
+public class TestStackFrame {
+   private final StackFrame stackFrame = new StackFrame(null, 2, 3);
+
+   @Test public void intsCanBePoppedAsObjects() {
+      stackFrame.pushInt(1000);
+      assertThat(stackFrame.pop(), equalTo((Object) 1000));
+   }
+
+   @Test public void objectsCanBePoppedAsInts() {
+      stackFrame.push(1000);
+      assertThat(stackFrame.popInt(), equalTo(1000));
+   }
+
+   @Test public void loadAndStoreKeepInts() {
+      stackFrame.pushInt(5);
+      stackFrame.store(0);
+      stackFrame.local(1, "value");
+
+      stackFrame.load(1).load(0).dup();
+
+      assertThat(stackFrame.popInt(), equalTo(5));
+      assertThat(stackFrame.popInt(), equalTo(5));
+      assertThat(stackFrame.pop(), equalTo((Object) "value"));
+      assertThat(stackFrame.localInt(0), equalTo(5));
+   }
+
+   @Test public void pushingAnObjectReplacesAnInt() {
+      stackFrame.pushInt(5);
+      stackFrame.pop();
+      stackFrame.push("value");
+      assertThat(stackFrame.pop(), equalTo((Object) "value"));
+   }
+
+   @Test public void snapshotCopiesInts() {
+      stackFrame.localInt(0, 1);
+      final StackFrame snapshot = stackFrame.snapshot();
+      stackFrame.localInt(0, 2);
+
+      assertThat(snapshot.localInt(0), equalTo(1));
+      assertThat(stackFrame.localInt(0), equalTo(2));
+   }
+}
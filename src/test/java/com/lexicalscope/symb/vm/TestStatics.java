@@ -1,6 +1,7 @@
 package com.lexicalscope.symb.vm;
 
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.sameInstance;
 import static org.objectweb.asm.Type.getInternalName;
 
@@ -31,4 +32,22 @@ public class TestStatics {
       exception.expect(DuplicateClassDefinitionException.class);
       statics.defineClass(getInternalName(EmptyClass.class));
    }
+
+   @Test public void definedClassCanBeLoadedById() {
+      final String name = getInternalName(EmptyStaticMethod.class);
+      statics.defineClass(name);
+
+      final SClass klass = statics.load(name);
+      assertThat(statics.classId(name), equalTo(klass.id()));
+      assertThat(statics.load(klass.id()), sameInstance(klass));
+   }
+
+   @Test public void classesDefinedAfterSnapshotAreNotShared() {
+      final String name = getInternalName(EmptyStaticMethod.class);
+      final Statics snapshot = statics.snapshot();
+      statics.defineClass(name);
+
+      assertThat(statics.isDefined(name), equalTo(true));
+      assertThat(snapshot.isDefined(name), equalTo(false));
+   }
 }
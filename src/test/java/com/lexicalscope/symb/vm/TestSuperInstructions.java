@@ -0,0 +1,52 @@
+package com.lexicalscope.symb.vm;
+
+import static com.lexicalscope.symb.vm.instructions.ops.Ops.loadConstants;
+import static com.lexicalscope.symb.vm.matchers.StateMatchers.normalTerminiationWithResult;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.lessThan;
+
+import org.junit.Test;
+
+import com.lexicalscope.symb.vm.classloader.AsmSClassLoader;
+import com.lexicalscope.symb.vm.classloader.MethodInfo;
+import com.lexicalscope.symb.vm.concinstructions.ConcInstructionFactory;
+import com.lexicalscope.symb.vm.trace.ExecutionListener;
+
+public class TestSuperInstructions {
+   private final MethodInfo absMethod = new MethodInfo(StaticAbsMethod.class, "abs", "(I)I");
+   private final MethodInfo viaCellMethod = new MethodInfo("com/lexicalscope/symb/vm/tests/Cell", "viaCell", "(I)I");
+
+   private int steps;
+
+   @Test public void fusedBranchTakesTheJump() {
+      assertThat(vm(true, absMethod, 5).execute(), normalTerminiationWithResult(5));
+   }
+
+   @Test public void fusedBranchFallsThrough() {
+      assertThat(vm(true, absMethod, -5).execute(), normalTerminiationWithResult(5));
+   }
+
+   @Test public void fusedRunsTakeFewerSteps() {
+      assertThat(vm(false, viaCellMethod, -6).execute(), normalTerminiationWithResult(-6));
+      final int unfusedSteps = steps;
+
+      steps = 0;
+      assertThat(vm(true, viaCellMethod, -6).execute(), normalTerminiationWithResult(-6));
+      assertThat(steps, lessThan(unfusedSteps));
+   }
+
+   private Vm vm(final boolean superInstructions, final MethodInfo entryPoint, final Object ... args) {
+      final AsmSClassLoader classLoader = new AsmSClassLoader(new ConcInstructionFactory(), superInstructions);
+      final Vm vm = new Vm(Vm.initial(classLoader, entryPoint).op(loadConstants(args)));
+      vm.executionListener(new ExecutionListener() {
+         @Override public void instruction(final State state) {
+            steps++;
+         }
+
+         @Override public void fork(final State[] states) { }
+
+         @Override public void backtrack(final State finished) { }
+      });
+      return vm;
+   }
+}
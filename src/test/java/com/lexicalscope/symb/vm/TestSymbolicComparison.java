@@ -0,0 +1,55 @@
+package com.lexicalscope.symb.vm;
+
+import static com.lexicalscope.symb.vm.matchers.StateMatchers.normalTerminiationWithResult;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+import org.junit.Test;
+
+import com.lexicalscope.symb.vm.classloader.MethodInfo;
+import com.lexicalscope.symb.vm.symbinstructions.SymbInstructionFactory;
+import com.lexicalscope.symb.vm.symbinstructions.symbols.IConstSymbol;
+import com.lexicalscope.symb.vm.symbinstructions.symbols.Symbol;
+
+public class TestSymbolicComparison {
+   MethodInfo compareMethod = new MethodInfo(
+         "com/lexicalscope/symb/vm/StaticCompareMethod", "compare", "(II)I");
+   MethodInfo isZeroMethod = new MethodInfo(
+         "com/lexicalscope/symb/vm/StaticCompareMethod", "isZero", "(I)I");
+
+   @Test
+   public void symbExecuteIntegerComparisons() {
+      final SymbInstructionFactory instructionFactory = new SymbInstructionFactory();
+      final Symbol symbol1 = instructionFactory.symbol();
+      final Symbol symbol2 = instructionFactory.symbol();
+
+      final Vm vm = Vm.vm(instructionFactory, compareMethod, symbol1, symbol2);
+      vm.execute();
+      assertThat(vm.results(), hasSize(3));
+      assertThat(vm.results(), hasItem(normalTerminiationWithResult(new IConstSymbol(0))));
+      assertThat(vm.results(), hasItem(normalTerminiationWithResult(new IConstSymbol(-1))));
+      assertThat(vm.results(), hasItem(normalTerminiationWithResult(new IConstSymbol(1))));
+   }
+
+   @Test
+   public void symbExecuteComparisonWithZeroAndGoto() {
+      final SymbInstructionFactory instructionFactory = new SymbInstructionFactory();
+      final Symbol symbol1 = instructionFactory.symbol();
+
+      final Vm vm = Vm.vm(instructionFactory, isZeroMethod, symbol1);
+      vm.execute();
+      assertThat(vm.results(), hasSize(2));
+      assertThat(vm.results(), hasItem(normalTerminiationWithResult(new IConstSymbol(1))));
+      assertThat(vm.results(), hasItem(normalTerminiationWithResult(new IConstSymbol(0))));
+   }
+
+   @Test
+   public void concreteComparisonsInASymbolicRunTakeOneBranch() {
+      final SymbInstructionFactory instructionFactory = new SymbInstructionFactory();
+
+      final Vm vm = Vm.vm(instructionFactory, compareMethod, new IConstSymbol(3), new IConstSymbol(5));
+      vm.execute();
+      assertThat(vm.results(), hasSize(1));
+      assertThat(vm.results(), hasItem(normalTerminiationWithResult(new IConstSymbol(-1))));
+   }
+}
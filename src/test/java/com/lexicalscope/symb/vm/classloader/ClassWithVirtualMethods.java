@@ -0,0 +1,15 @@
+package com.lexicalscope.symb.vm.classloader;
+
+public class ClassWithVirtualMethods {
+   int overridden() {
+      return 1;
+   }
+
+   int inherited() {
+      return 2;
+   }
+
+   static int notVirtual() {
+      return 3;
+   }
+}
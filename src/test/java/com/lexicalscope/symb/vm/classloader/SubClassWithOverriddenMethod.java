@@ -0,0 +1,11 @@
+package com.lexicalscope.symb.vm.classloader;
+
+public class SubClassWithOverriddenMethod extends ClassWithVirtualMethods {
+   @Override int overridden() {
+      return 4;
+   }
+
+   int additional() {
+      return 5;
+   }
+}
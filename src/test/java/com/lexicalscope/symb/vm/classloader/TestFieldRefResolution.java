@@ -0,0 +1,52 @@
+package com.lexicalscope.symb.vm.classloader;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.objectweb.asm.Type.getInternalName;
+
+import org.junit.Test;
+
+import com.lexicalscope.symb.vm.StaticsImpl;
+
+public class TestFieldRefResolution {
+   private final SClassLoader sClassLoader = new AsmSClassLoader();
+   private final SClass classWithFiveFields = sClassLoader.load(ClassWith5Fields.class);
+   private final SClass subClassWithThreeFields = sClassLoader.load(SubClassWithAdditionalFields.class);
+   private final SClass subClassWithOverloadedField = sClassLoader.load(SubClassWithOverloadedField.class);
+   private final SClass classWith4StaticFields = sClassLoader.load(ClassWith5StaticFields.class);
+
+   @Test public void inheritedFieldResolvesToSuperclass() {
+      final SFieldRef field = new SFieldRef(getInternalName(SubClassWithAdditionalFields.class), "a", false);
+      field.link(subClassWithThreeFields);
+
+      assertThat(field.offset(null), equalTo(1));
+      assertThat(field.declaringClass(null), sameInstance(classWithFiveFields));
+   }
+
+   @Test public void overloadedFieldResolvesToSubclass() {
+      final SFieldRef field = new SFieldRef(getInternalName(SubClassWithOverloadedField.class), "c", false);
+      field.link(subClassWithOverloadedField);
+
+      assertThat(field.offset(null), equalTo(6));
+   }
+
+   @Test public void staticFieldResolvesToStaticOffset() {
+      final SFieldRef field = new SFieldRef(getInternalName(ClassWith5StaticFields.class), "b", true);
+      field.link(classWith4StaticFields);
+
+      assertThat(field.offset(null), equalTo(2));
+      assertThat(field.declaringClass(null), sameInstance(classWith4StaticFields));
+   }
+
+   @Test public void fieldOfAnotherClassResolvesWhenFirstUsed() {
+      final SFieldRef field = new SFieldRef(getInternalName(SubClassWithAdditionalFields.class), "f", false);
+      field.link(classWithFiveFields);
+
+      final SClassLoader otherClassLoader = new AsmSClassLoader();
+      final StaticsImpl statics = new StaticsImpl(otherClassLoader);
+      statics.defineClass(getInternalName(SubClassWithAdditionalFields.class));
+
+      assertThat(field.offset(statics), equalTo(6));
+   }
+}
@@ -0,0 +1,65 @@
+package com.lexicalscope.symb.vm.classloader;
+
+import static com.lexicalscope.symb.vm.classloader.SClass.OBJECT_CLASS_OFFSET;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.sameInstance;
+
+import org.junit.Test;
+
+import com.lexicalscope.heap.FastHeap;
+import com.lexicalscope.symb.vm.Heap;
+import com.lexicalscope.symb.vm.StackFrame;
+import com.lexicalscope.symb.vm.instructions.MethodCallInstruction.VirtualMethodInvokation;
+
+public class TestVirtualDispatch {
+   private final SClassLoader sClassLoader = new AsmSClassLoader();
+   private final SClass superclass = sClassLoader.load(ClassWithVirtualMethods.class);
+   private final SClass subclass = sClassLoader.load(SubClassWithOverriddenMethod.class);
+   private final Heap heap = new FastHeap();
+
+   @Test public void overridingMethodSharesTheSlotOfTheOverriddenMethod() {
+      assertThat(subclass.vtableIndex("overridden", "()I"), equalTo(superclass.vtableIndex("overridden", "()I")));
+   }
+
+   @Test public void overridingMethodReplacesOverriddenMethod() {
+      final int slot = superclass.vtableIndex("overridden", "()I");
+
+      assertThat(superclass.virtualMethod(slot), sameInstance(superclass.staticMethod("overridden", "()I")));
+      assertThat(subclass.virtualMethod(slot), sameInstance(subclass.staticMethod("overridden", "()I")));
+   }
+
+   @Test public void inheritedMethodIsFoundThroughSubclass() {
+      assertThat(
+            subclass.virtualMethod(subclass.vtableIndex("inherited", "()I")),
+            sameInstance(superclass.staticMethod("inherited", "()I")));
+   }
+
+   @Test public void additionalMethodGetsItsOwnSlot() {
+      assertThat(subclass.vtableIndex("additional", "()I"), not(equalTo(subclass.vtableIndex("overridden", "()I"))));
+   }
+
+   @Test(expected = SMethodNotFoundException.class) public void staticMethodsAreNotVirtual() {
+      superclass.vtableIndex("notVirtual", "()I");
+   }
+
+   @Test(expected = SMethodNotFoundException.class) public void constructorsAreNotVirtual() {
+      superclass.vtableIndex("<init>", "()V");
+   }
+
+   @Test public void callSiteDispatchesOnReceiverClass() {
+      final VirtualMethodInvokation invokation = new VirtualMethodInvokation();
+      final SMethod resolved = invokation.resolve(superclass, new SMethodName(superclass.name(), "overridden", "()I"));
+
+      assertThat(invokation.target(frameWithReceiver(superclass), heap, resolved), sameInstance(resolved));
+      assertThat(invokation.target(frameWithReceiver(subclass), heap, resolved), sameInstance(subclass.staticMethod("overridden", "()I")));
+      assertThat(invokation.target(frameWithReceiver(superclass), heap, resolved), sameInstance(resolved));
+   }
+
+   private StackFrame frameWithReceiver(final SClass klass) {
+      final Object address = heap.newObject(klass);
+      heap.put(address, OBJECT_CLASS_OFFSET, klass);
+      return new StackFrame(null, 0, 1).push(address);
+   }
+}
@@ -0,0 +1,88 @@
+package com.lexicalscope.symb.vm.jit;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.hamcrest.Matchers.nullValue;
+
+import java.io.IOException;
+
+import org.junit.Test;
+import org.objectweb.asm.ClassReader;
+import org.objectweb.asm.tree.ClassNode;
+import org.objectweb.asm.tree.MethodNode;
+
+import com.lexicalscope.symb.vm.StackFrame;
+import com.lexicalscope.symb.vm.StaticHotMethod;
+import com.lexicalscope.symb.vm.StaticLinkedList;
+import com.lexicalscope.symb.vm.classloader.AsmSClassLoader;
+import com.lexicalscope.symb.vm.classloader.SClass;
+import com.lexicalscope.symb.vm.classloader.SClassLoader;
+
+public class TestMethodCompiler {
+   private final SClassLoader classLoader = new AsmSClassLoader();
+   private final MethodCompiler compiler = new MethodCompiler();
+   private final StackFrame frame = new StackFrame(null, 0, 3);
+
+   @Test public void compiledMethodPopsArgumentsAndPushesResult() throws IOException {
+      final CompiledMethod distance = compile(StaticHotMethod.class, "distance");
+
+      frame.pushInt(7).push(3);
+      assertThat(distance.invoke(frame, null, null), equalTo(true));
+      assertThat(frame.popInt(), equalTo(4));
+
+      frame.pushInt(3).pushInt(7);
+      assertThat(distance.invoke(frame, null, null), equalTo(true));
+      assertThat(frame.popInt(), equalTo(4));
+   }
+
+   @Test public void compiledMethodRunsLoops() throws IOException {
+      final CompiledMethod sumBelow = compile(StaticHotMethod.class, "sumBelow");
+
+      frame.pushInt(10);
+      assertThat(sumBelow.invoke(frame, null, null), equalTo(true));
+      assertThat(frame.popInt(), equalTo(45));
+   }
+
+   @Test public void methodsMakingCallsAreNotCompiled() throws IOException {
+      assertThat(compile(StaticHotMethod.class, "sumOfDistances"), nullValue());
+   }
+
+   @Test public void nonIntArgumentsAreLeftForTheInterpreter() throws IOException {
+      final CompiledMethod distance = compile(StaticHotMethod.class, "distance");
+      final Object symbol = new Object();
+
+      frame.pushInt(7).push(symbol);
+      assertThat(distance.invoke(frame, null, null), equalTo(false));
+      assertThat(frame.pop(), equalTo(symbol));
+      assertThat(frame.popInt(), equalTo(7));
+   }
+
+   @Test public void methodsUsingTheHeapAreNotCompiled() throws IOException {
+      assertThat(compile(StaticLinkedList.class, "addRemove"), nullValue());
+   }
+
+   @Test public void methodsUsingTheirClassStaticsAreCompiled() throws IOException {
+      assertThat(compile(StaticHotMethod.class, "addDistance"), notNullValue());
+   }
+
+   @Test public void eachCompilationIsIndependent() throws IOException {
+      final SClass klass = classLoader.load(StaticHotMethod.class);
+      final MethodNode method = method(StaticHotMethod.class, "distance");
+      assertThat(compiler.compile(klass, method), notNullValue());
+      assertThat(compiler.compile(klass, method), notNullValue());
+   }
+
+   private CompiledMethod compile(final Class<?> klass, final String name) throws IOException {
+      return compiler.compile(classLoader.load(klass), method(klass, name));
+   }
+
+   private static MethodNode method(final Class<?> klass, final String name) throws IOException {
+      final ClassNode classNode = new ClassNode();
+      new ClassReader(klass.getName()).accept(classNode, 0);
+      for (final Object method : classNode.methods) {
+         if(((MethodNode) method).name.equals(name)) return (MethodNode) method;
+      }
+      throw new AssertionError("no method " + name);
+   }
+}
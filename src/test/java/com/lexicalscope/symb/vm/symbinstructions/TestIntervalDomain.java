@@ -0,0 +1,87 @@
+package com.lexicalscope.symb.vm.symbinstructions;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.Matchers.sameInstance;
+
+import org.junit.Test;
+
+import com.lexicalscope.symb.vm.symbinstructions.symbols.Symbol;
+import com.lexicalscope.symb.vm.symbinstructions.symbols.SymbolFactory;
+
+public class TestIntervalDomain {
+   private final SymbolFactory symbolFactory = new SymbolFactory();
+   private final Symbol x = symbolFactory.intSymbol(0);
+   private final Symbol y = symbolFactory.intSymbol(1);
+
+   @Test
+   public void constantConditionsAreDecided() {
+      final IntervalDomain domain = new IntervalDomain(new Pc());
+
+      assertThat(domain.decide(symbolFactory.ge(symbolFactory.constant(0))), equalTo(true));
+      assertThat(domain.decide(symbolFactory.ge(symbolFactory.constant(-3))), equalTo(false));
+      assertThat(domain.decide(symbolFactory.not(symbolFactory.ge(symbolFactory.constant(-3)))), equalTo(true));
+   }
+
+   @Test
+   public void unconstrainedConditionIsUndecided() {
+      assertThat(new IntervalDomain(new Pc()).decide(symbolFactory.ge(x)), nullValue());
+   }
+
+   @Test
+   public void boundsAreLearntFromThePathCondition() {
+      final Pc pc = new Pc().and(symbolFactory.ge(x)).and(symbolFactory.not(symbolFactory.ge(y)));
+      final IntervalDomain domain = new IntervalDomain(pc);
+
+      assertThat(domain.decide(symbolFactory.ge(x)), equalTo(true));
+      assertThat(domain.decide(symbolFactory.ge(y)), equalTo(false));
+      assertThat(domain.decide(symbolFactory.ge(symbolFactory.sub(x, y))), nullValue());
+   }
+
+   @Test
+   public void boundsOnAnOffsetBoundTheOperand() {
+      final Pc pc = new Pc().and(symbolFactory.ge(x)).and(symbolFactory.not(symbolFactory.ge(symbolFactory.sub(x, symbolFactory.constant(100)))));
+      final IntervalDomain domain = new IntervalDomain(pc);
+
+      assertThat(domain.decide(symbolFactory.ge(symbolFactory.add(x, symbolFactory.constant(-200)))), equalTo(false));
+      assertThat(domain.decide(symbolFactory.ge(symbolFactory.mul(x, symbolFactory.constant(1000)))), equalTo(true));
+      assertThat(domain.decide(symbolFactory.ge(symbolFactory.sub(x, symbolFactory.constant(50)))), nullValue());
+   }
+
+   @Test
+   public void possibleOverflowIsUndecided() {
+      final Pc pc = new Pc().and(symbolFactory.ge(x));
+
+      assertThat(new IntervalDomain(pc).decide(symbolFactory.ge(symbolFactory.add(x, symbolFactory.constant(1)))), nullValue());
+   }
+
+   @Test
+   public void forksShareTheBoundsLearntBeforeTheFork() {
+      final Pc pc = new Pc().and(symbolFactory.ge(x));
+      final IntervalDomain.Bounds learnt = pc.bounds();
+
+      final Pc fork = pc.snapshot().and(symbolFactory.not(symbolFactory.ge(y)));
+
+      assertThat(pc.snapshot().bounds(), sameInstance(learnt));
+      assertThat(new IntervalDomain(fork).decide(symbolFactory.ge(x)), equalTo(true));
+      assertThat(new IntervalDomain(fork).decide(symbolFactory.ge(y)), equalTo(false));
+      assertThat(new IntervalDomain(pc).decide(symbolFactory.ge(y)), nullValue());
+   }
+
+   @Test
+   public void boundsOfManySymbolsAreKeptApart() {
+      Pc pc = new Pc();
+      for (int i = 0; i < 200; i++) {
+         final Symbol symbol = symbolFactory.intSymbol(i);
+         pc = pc.snapshot().and(i % 2 == 0 ? symbolFactory.ge(symbol) : symbolFactory.not(symbolFactory.ge(symbol)));
+         new IntervalDomain(pc).decide(symbolFactory.ge(symbol));
+      }
+
+      final IntervalDomain domain = new IntervalDomain(pc);
+      for (int i = 0; i < 200; i++) {
+         assertThat(domain.decide(symbolFactory.ge(symbolFactory.intSymbol(i))), equalTo(i % 2 == 0));
+      }
+      assertThat(domain.decide(symbolFactory.ge(symbolFactory.intSymbol(200))), nullValue());
+   }
+}
@@ -0,0 +1,48 @@
+package com.lexicalscope.symb.vm.symbinstructions;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Test;
+
+import com.lexicalscope.symb.vm.symbinstructions.symbols.GeSymbol;
+import com.lexicalscope.symb.vm.symbinstructions.symbols.ISymbol;
+import com.lexicalscope.symb.vm.symbinstructions.symbols.NotSymbol;
+import com.lexicalscope.symb.vm.symbinstructions.symbols.Symbol;
+
+public class TestPc {
+   private final GeSymbol xGe0 = new GeSymbol(new ISymbol(0));
+   private final GeSymbol yGe0 = new GeSymbol(new ISymbol(1));
+   private final NotSymbol notYGe0 = new NotSymbol(yGe0);
+
+   private final PcVisitor<List<Symbol>, RuntimeException> conjuncts = new PcVisitor<List<Symbol>, RuntimeException>() {
+      @Override public List<Symbol> conjunction(final List<Symbol> conjunction) {
+         return conjunction;
+      }
+   };
+
+   @Test
+   public void conjunctsAreVisitedOldestFirst() {
+      assertThat(new Pc().and(xGe0).and(yGe0).accept(conjuncts), equalTo(Arrays.<Symbol>asList(xGe0, yGe0)));
+   }
+
+   @Test
+   public void snapshotsShareConjunctsBeforeTheFork() {
+      final Pc pc = new Pc().and(xGe0);
+      final Pc snapshot = pc.snapshot();
+
+      pc.and(yGe0);
+      snapshot.and(notYGe0);
+
+      assertThat(pc.accept(conjuncts), equalTo(Arrays.<Symbol>asList(xGe0, yGe0)));
+      assertThat(snapshot.accept(conjuncts), equalTo(Arrays.<Symbol>asList(xGe0, notYGe0)));
+   }
+
+   @Test
+   public void emptyPcHasNoConjuncts() {
+      assertThat(new Pc().accept(conjuncts), equalTo(Arrays.<Symbol>asList()));
+   }
+}
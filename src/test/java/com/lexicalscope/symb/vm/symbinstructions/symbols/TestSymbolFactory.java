@@ -0,0 +1,77 @@
+package com.lexicalscope.symb.vm.symbinstructions.symbols;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.sameInstance;
+
+import org.junit.Test;
+
+public class TestSymbolFactory {
+   private final SymbolFactory symbolFactory = new SymbolFactory();
+
+   @Test
+   public void structurallyEqualSymbolsAreTheSameInstance() {
+      final Symbol x = symbolFactory.intSymbol(0);
+      final Symbol y = symbolFactory.intSymbol(1);
+
+      assertThat(
+            symbolFactory.ge(symbolFactory.mul(symbolFactory.add(x, y), symbolFactory.constant(-1))),
+            sameInstance(symbolFactory.ge(symbolFactory.mul(symbolFactory.add(x, y), symbolFactory.constant(-1)))));
+      assertThat(symbolFactory.not(x), sameInstance(symbolFactory.not(x)));
+   }
+
+   @Test
+   public void internedSymbolsEqualFreshlyBuiltSymbols() {
+      final Symbol x = new ISymbol(0);
+      final Symbol interned = symbolFactory.add(x, new IConstSymbol(1));
+
+      assertThat(interned, equalTo((Symbol) new AddSymbol(x, new IConstSymbol(1))));
+      assertThat(interned.hashCode(), equalTo(new AddSymbol(x, new IConstSymbol(1)).hashCode()));
+   }
+
+   @Test
+   public void operandOrderAndOperatorAreDistinguished() {
+      final Symbol x = symbolFactory.intSymbol(0);
+      final Symbol y = symbolFactory.intSymbol(1);
+
+      assertThat((Symbol) symbolFactory.sub(x, y), not(equalTo((Symbol) symbolFactory.sub(y, x))));
+      assertThat((Symbol) symbolFactory.add(x, y), not(equalTo((Symbol) symbolFactory.mul(x, y))));
+   }
+
+   @Test
+   public void constantsAreFolded() {
+      assertThat(symbolFactory.add(symbolFactory.constant(Integer.MAX_VALUE), symbolFactory.constant(1)), equalTo((Symbol) new IConstSymbol(Integer.MIN_VALUE)));
+      assertThat(symbolFactory.sub(symbolFactory.constant(3), symbolFactory.constant(5)), equalTo((Symbol) new IConstSymbol(-2)));
+      assertThat(symbolFactory.mul(symbolFactory.constant(3), symbolFactory.constant(-5)), equalTo((Symbol) new IConstSymbol(-15)));
+   }
+
+   @Test
+   public void identitiesAreRemoved() {
+      final Symbol x = symbolFactory.intSymbol(0);
+
+      assertThat(symbolFactory.add(x, symbolFactory.constant(0)), sameInstance(x));
+      assertThat(symbolFactory.add(symbolFactory.constant(0), x), sameInstance(x));
+      assertThat(symbolFactory.sub(x, symbolFactory.constant(0)), sameInstance(x));
+      assertThat(symbolFactory.mul(x, symbolFactory.constant(1)), sameInstance(x));
+      assertThat(symbolFactory.mul(symbolFactory.constant(1), x), sameInstance(x));
+      assertThat(symbolFactory.mul(x, symbolFactory.constant(0)), equalTo((Symbol) new IConstSymbol(0)));
+      assertThat(symbolFactory.sub(x, x), equalTo((Symbol) new IConstSymbol(0)));
+   }
+
+   @Test
+   public void expressionsAreNormalised() {
+      final Symbol x = symbolFactory.intSymbol(0);
+      final Symbol y = symbolFactory.intSymbol(1);
+
+      assertThat(symbolFactory.add(symbolFactory.constant(2), x), equalTo((Symbol) new AddSymbol(x, new IConstSymbol(2))));
+      assertThat(
+            symbolFactory.add(symbolFactory.add(x, symbolFactory.constant(2)), symbolFactory.constant(3)),
+            equalTo((Symbol) new AddSymbol(x, new IConstSymbol(5))));
+      assertThat(
+            symbolFactory.mul(symbolFactory.mul(x, symbolFactory.constant(2)), symbolFactory.constant(3)),
+            equalTo((Symbol) new MulSymbol(x, new IConstSymbol(6))));
+      assertThat(symbolFactory.sub(symbolFactory.add(x, symbolFactory.constant(1)), x), equalTo((Symbol) new IConstSymbol(1)));
+      assertThat(symbolFactory.sub(symbolFactory.add(x, y), y), sameInstance(x));
+   }
+}
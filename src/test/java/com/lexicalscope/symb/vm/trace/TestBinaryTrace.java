@@ -0,0 +1,69 @@
+package com.lexicalscope.symb.vm.trace;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.util.HashSet;
+import java.util.Set;
+
+import org.junit.Test;
+
+import com.lexicalscope.symb.vm.Vm;
+import com.lexicalscope.symb.vm.classloader.MethodInfo;
+import com.lexicalscope.symb.vm.symbinstructions.SymbInstructionFactory;
+
+public class TestBinaryTrace {
+   MethodInfo absMethod = new MethodInfo(
+         "com/lexicalscope/symb/vm/StaticAbsMethod", "abs", "(I)I");
+
+   private int instructions;
+   private int forks;
+   private int backtracks;
+
+   @Test
+   public void traceRecordsInstructionsForksAndBacktracks() throws IOException {
+      final SymbInstructionFactory instructionFactory = new SymbInstructionFactory();
+      final Vm vm = Vm.vm(instructionFactory, absMethod, instructionFactory.symbol());
+
+      final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+      try(BinaryTrace trace = new BinaryTrace(bytes)) {
+         vm.executionListener(trace);
+         vm.execute();
+      }
+      read(bytes.toByteArray());
+
+      assertThat(instructions, greaterThan(0));
+      assertThat(forks, equalTo(1));
+      assertThat(backtracks, equalTo(2));
+   }
+
+   private void read(final byte[] trace) throws IOException {
+      final DataInputStream in = new DataInputStream(new ByteArrayInputStream(trace));
+      final Set<Integer> defined = new HashSet<>();
+      while(in.available() > 0) {
+         switch (in.readByte()) {
+            case BinaryTrace.DEFINE_INSTRUCTION:
+               assertThat(defined.add(in.readInt()), equalTo(true));
+               in.readUTF();
+               break;
+            case BinaryTrace.INSTRUCTION:
+               assertThat(defined, hasItem(in.readInt()));
+               instructions++;
+               break;
+            case BinaryTrace.FORK:
+               assertThat(in.readInt(), equalTo(2));
+               forks++;
+               break;
+            case BinaryTrace.BACKTRACK:
+               backtracks++;
+               break;
+            default:
+               throw new AssertionError("unknown event");
+         }
+      }
+   }
+}
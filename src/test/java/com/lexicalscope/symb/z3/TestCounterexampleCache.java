@@ -0,0 +1,70 @@
+package com.lexicalscope.symb.z3;
+
+import static java.util.Arrays.asList;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.nullValue;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+import org.junit.Test;
+
+import com.lexicalscope.symb.vm.symbinstructions.symbols.GeSymbol;
+import com.lexicalscope.symb.vm.symbinstructions.symbols.IConstSymbol;
+import com.lexicalscope.symb.vm.symbinstructions.symbols.ISymbol;
+import com.lexicalscope.symb.vm.symbinstructions.symbols.NotSymbol;
+import com.lexicalscope.symb.vm.symbinstructions.symbols.SubSymbol;
+import com.lexicalscope.symb.vm.symbinstructions.symbols.Symbol;
+
+public class TestCounterexampleCache {
+   private final CounterexampleCache cache = new CounterexampleCache();
+
+   private final GeSymbol xGe0 = new GeSymbol(new ISymbol(0));
+   private final GeSymbol xGe5 = new GeSymbol(new SubSymbol(new ISymbol(0), new IConstSymbol(5)));
+   private final GeSymbol yGe0 = new GeSymbol(new ISymbol(1));
+
+   @Test
+   public void unknownQueryIsAMiss() {
+      assertThat(cache.lookup(query(xGe0)), nullValue());
+      assertThat(cache.misses(), equalTo(1L));
+      assertThat(cache.hits(), equalTo(0L));
+   }
+
+   @Test
+   public void queryIsSatisfiedByStoredModel() {
+      cache.satisfiable(query(xGe5), model(0, 7));
+
+      assertThat(cache.lookup(query(xGe0)), equalTo(true));
+      assertThat(cache.lookup(query(xGe0, yGe0)), equalTo(true));
+      assertThat(cache.lookup(query(xGe0, new NotSymbol(xGe5))), nullValue());
+      assertThat(cache.hits(), equalTo(2L));
+      assertThat(cache.misses(), equalTo(1L));
+   }
+
+   @Test
+   public void queryContainingUnsatCoreIsUnsatisfiable() {
+      cache.unsatisfiable(query(xGe0, new NotSymbol(xGe0)), query(xGe0, new NotSymbol(xGe0)));
+
+      assertThat(cache.lookup(query(yGe0, xGe0, new NotSymbol(xGe0))), equalTo(false));
+      assertThat(cache.lookup(query(yGe0, xGe0)), nullValue());
+   }
+
+   @Test
+   public void repeatedQueryIsAHit() {
+      cache.unsatisfiable(query(xGe5, new NotSymbol(xGe0)), query(xGe5, new NotSymbol(xGe0)));
+
+      assertThat(cache.lookup(query(new NotSymbol(xGe0), xGe5)), equalTo(false));
+      assertThat(cache.hits(), equalTo(1L));
+   }
+
+   private static Set<Symbol> query(final Symbol ... conjuncts) {
+      return new HashSet<Symbol>(asList(conjuncts));
+   }
+
+   private static Map<Integer, Integer> model(final int name, final int value) {
+      return Collections.singletonMap(name, value);
+   }
+}
@@ -1,9 +1,16 @@
 package com.lexicalscope.symb.z3;
 
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+
 import org.junit.Rule;
 import org.junit.Test;
 
 import com.lexicalscope.junit.junitautocloseable.AutoCloseRule;
+import com.lexicalscope.symb.vm.symbinstructions.Pc;
+import com.lexicalscope.symb.vm.symbinstructions.symbols.GeSymbol;
+import com.lexicalscope.symb.vm.symbinstructions.symbols.ISymbol;
+import com.lexicalscope.symb.vm.symbinstructions.symbols.NotSymbol;
 import com.microsoft.z3.Z3Exception;
 
 public class TestFeasibilityChecker {
@@ -14,4 +21,54 @@ public class TestFeasibilityChecker {
    public void testZ3IsWorking() throws Z3Exception {
       feasbilityChecker.checkZ3IsWorking();
    }
+
+   @Test
+   public void siblingPathConditionsAreCheckedIncrementally() {
+      final GeSymbol xGe0 = new GeSymbol(new ISymbol(0));
+      final GeSymbol yGe0 = new GeSymbol(new ISymbol(1));
+
+      final Pc pc = new Pc().and(xGe0);
+      assertThat(feasbilityChecker.check(pc), equalTo(true));
+      assertThat(feasbilityChecker.check(pc.snapshot().and(new NotSymbol(xGe0))), equalTo(false));
+      assertThat(feasbilityChecker.check(pc.snapshot().and(yGe0)), equalTo(true));
+      assertThat(feasbilityChecker.check(new Pc().and(new NotSymbol(xGe0))), equalTo(true));
+      assertThat(feasbilityChecker.check(pc), equalTo(true));
+   }
+
+   @Test
+   public void independentClustersAreCheckedUnderTheirOwnAssumptions() {
+      final GeSymbol xGe0 = new GeSymbol(new ISymbol(0));
+      final GeSymbol yGe0 = new GeSymbol(new ISymbol(1));
+
+      final Pc pc = new Pc().and(xGe0).and(yGe0);
+      assertThat(feasbilityChecker.check(pc), equalTo(true));
+      assertThat(feasbilityChecker.check(pc.snapshot().and(new NotSymbol(yGe0))), equalTo(false));
+      assertThat(feasbilityChecker.check(pc.snapshot().and(new NotSymbol(xGe0))), equalTo(false));
+      assertThat(feasbilityChecker.check(new Pc().and(new NotSymbol(xGe0)).and(yGe0)), equalTo(true));
+   }
+
+   @Test
+   public void threadsCheckOnTheirOwnSolvers() throws InterruptedException {
+      final GeSymbol xGe0 = new GeSymbol(new ISymbol(0));
+      final Pc pc = new Pc().and(xGe0);
+      final Boolean[] results = new Boolean[2];
+
+      final Thread[] threads = new Thread[results.length];
+      for (int i = 0; i < threads.length; i++) {
+         final int index = i;
+         threads[i] = new Thread() {
+            @Override public void run() {
+               results[index] = feasbilityChecker.check(index == 0 ? pc : pc.snapshot().and(new NotSymbol(xGe0)));
+            }
+         };
+         threads[i].start();
+      }
+      for (final Thread thread : threads) {
+         thread.join();
+      }
+
+      assertThat(results[0], equalTo(true));
+      assertThat(results[1], equalTo(false));
+      assertThat(feasbilityChecker.check(pc), equalTo(true));
+   }
 }
@@ -0,0 +1,41 @@
+package com.lexicalscope.symb.z3;
+
+import static java.util.Arrays.asList;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import org.junit.Test;
+
+import com.lexicalscope.symb.vm.symbinstructions.Pc;
+import com.lexicalscope.symb.vm.symbinstructions.symbols.AddSymbol;
+import com.lexicalscope.symb.vm.symbinstructions.symbols.GeSymbol;
+import com.lexicalscope.symb.vm.symbinstructions.symbols.IConstSymbol;
+import com.lexicalscope.symb.vm.symbinstructions.symbols.ISymbol;
+import com.lexicalscope.symb.vm.symbinstructions.symbols.NotSymbol;
+import com.lexicalscope.symb.vm.symbinstructions.symbols.Symbol;
+
+public class TestIndependentClusters {
+   private final GeSymbol xGe0 = new GeSymbol(new ISymbol(0));
+   private final GeSymbol yGe0 = new GeSymbol(new ISymbol(1));
+   private final GeSymbol zGe0 = new GeSymbol(new ISymbol(2));
+   private final GeSymbol xPlusZGe0 = new GeSymbol(new AddSymbol(new ISymbol(0), new ISymbol(2)));
+   private final GeSymbol constantGe0 = new GeSymbol(new IConstSymbol(3));
+
+   @SuppressWarnings("unchecked") @Test
+   public void conjunctsWithoutSharedVariablesAreIndependent() {
+      final Collection<List<Symbol>> clusters = new Pc().and(xGe0).and(yGe0).and(new NotSymbol(zGe0)).accept(new IndependentClusters());
+
+      assertThat(new ArrayList<>(clusters), equalTo(asList(asList((Symbol) xGe0), asList((Symbol) yGe0), asList((Symbol) new NotSymbol(zGe0)))));
+   }
+
+   @SuppressWarnings("unchecked") @Test
+   public void sharedVariablesJoinClustersTransitively() {
+      final Collection<List<Symbol>> clusters = new Pc().and(xGe0).and(yGe0).and(zGe0).and(xPlusZGe0).and(constantGe0).accept(new IndependentClusters());
+
+      assertThat(new ArrayList<>(clusters), equalTo(asList(asList((Symbol) xGe0, zGe0, xPlusZGe0), asList((Symbol) yGe0), asList((Symbol) constantGe0))));
+   }
+}
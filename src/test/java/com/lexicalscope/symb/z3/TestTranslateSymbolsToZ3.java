@@ -1,10 +1,46 @@
 package com.lexicalscope.symb.z3;
 
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.sameInstance;
+
+import org.junit.After;
 import org.junit.Test;
 
+import com.lexicalscope.symb.vm.symbinstructions.symbols.AddSymbol;
+import com.lexicalscope.symb.vm.symbinstructions.symbols.GeSymbol;
+import com.lexicalscope.symb.vm.symbinstructions.symbols.ISymbol;
+import com.lexicalscope.symb.vm.symbinstructions.symbols.NotSymbol;
+import com.microsoft.z3.Context;
+import com.microsoft.z3.Expr;
+
 public class TestTranslateSymbolsToZ3 {
+   private final Context ctx;
+   private final SymbolToExpr symbolToExpr;
+
+   public TestTranslateSymbolsToZ3() throws Exception {
+      ctx = new Context();
+      symbolToExpr = new SymbolToExpr(ctx);
+   }
+
+   @After
+   public void disposeContext() {
+      ctx.dispose();
+   }
+
    @Test
    public void translateGeToz3() throws Exception {
 
    }
+
+   @Test
+   public void sharedSubtreesAreTranslatedOnce() throws Exception {
+      final AddSymbol sum = new AddSymbol(new ISymbol(0), new ISymbol(1));
+      final GeSymbol sumGe0 = new GeSymbol(sum);
+
+      final Expr sumExpr = symbolToExpr.translate(sum);
+      symbolToExpr.translate(new NotSymbol(sumGe0));
+
+      assertThat(symbolToExpr.translate(sum), sameInstance(sumExpr));
+      assertThat(symbolToExpr.translate(sumGe0), sameInstance(symbolToExpr.translate(sumGe0)));
+   }
 }